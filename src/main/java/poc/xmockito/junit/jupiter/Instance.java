@@ -13,6 +13,51 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 public @interface Instance {
     Class<?>[] parameterTypes() default {};
+
+    /**
+     * Constructs the instance once per test class and restores every later test's instance from a serialized
+     * snapshot of the first one, its wired dependencies being bound to the ones of the current test.
+     */
+    boolean snapshot() default false;
+
+    /**
+     * A {@link Scope#SESSION} instance depending only on predefined values and other session instances is built
+     * once and shared by every test class resolving the same constructor to the same values.
+     */
+    Scope scope() default Scope.TEST;
+
+    /**
+     * A public no-argument method of the instance to run once it is constructed, concurrently with the other
+     * initializers but after the ones of its dependencies. A returned {@link java.util.concurrent.CompletionStage}
+     * is awaited as well, and the test starts once every initializer has completed.
+     */
+    String initializer() default "";
+
+    /**
+     * A public static method of the type creating the instance, its parameters being resolved like the ones of a
+     * constructor. Types without public constructors are created by their {@code of}, {@code create} or
+     * {@code newInstance} method, when they have one.
+     */
+    String factory() default "";
+
+    /**
+     * How the instance gets its dependencies besides its constructor. {@link Injection#ANNOTATED} also injects its
+     * {@link Wired} fields and methods, {@link Injection#ALL} additionally fills every field the constructor left
+     * {@code null} and calls every public setter it can resolve, leaving the members without a candidate as they are.
+     * Members declared by classes in packages not open to the extension, like the JDK's, are left alone.
+     */
+    Injection injection() default Injection.CONSTRUCTOR;
+
+    enum Scope {
+        TEST,
+        SESSION
+    }
+
+    enum Injection {
+        CONSTRUCTOR,
+        ANNOTATED,
+        ALL
+    }
 }
 
 
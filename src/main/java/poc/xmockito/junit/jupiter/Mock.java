@@ -11,6 +11,10 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Target({FIELD, PARAMETER})
 @Retention(RUNTIME)
 @Documented
-public @interface Mock {}
-
-
+public @interface Mock {
+    /**
+     * The factory creating this mock, {@code MockFactory.class} uses the suite wide default
+     * configured through {@code xmockito.mocks.factory}, which defaults to {@link MockitoMockFactory}.
+     */
+    Class<? extends MockFactory> factory() default MockFactory.class;
+}
@@ -0,0 +1,5 @@
+package poc.xmockito.junit.jupiter;
+
+public interface MockFactory {
+    <T> T createMock(Class<T> type, String name);
+}
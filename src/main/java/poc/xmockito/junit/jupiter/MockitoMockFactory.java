@@ -0,0 +1,18 @@
+package poc.xmockito.junit.jupiter;
+
+import org.mockito.MockSettings;
+import org.mockito.Mockito;
+
+import static org.mockito.Mockito.withSettings;
+
+public class MockitoMockFactory implements MockFactory {
+
+    @Override
+    public <T> T createMock(Class<T> type, String name) {
+        return createMock(type, withSettings().name(name));
+    }
+
+    public <T> T createMock(Class<T> type, MockSettings settings) {
+        return Mockito.mock(type, settings);
+    }
+}
@@ -0,0 +1,116 @@
+package poc.xmockito.junit.jupiter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Creates interface mocks as plain {@link Proxy} instances answering with empty values, without loading Mockito's
+ * bytecode generation. Non interface types are delegated to {@link MockitoMockFactory}.
+ * <p>
+ * Proxy mocks don't record invocations, and can only be stubbed by method signature through {@link #stub}.
+ */
+public class ProxyMockFactory implements MockFactory {
+    private static final Map<Class<?>, Supplier<Object>> EMPTY_VALUES = Map.ofEntries(
+        Map.entry(boolean.class, () -> false),
+        Map.entry(Boolean.class, () -> false),
+        Map.entry(char.class, () -> '\0'),
+        Map.entry(Character.class, () -> '\0'),
+        Map.entry(byte.class, () -> (byte) 0),
+        Map.entry(Byte.class, () -> (byte) 0),
+        Map.entry(short.class, () -> (short) 0),
+        Map.entry(Short.class, () -> (short) 0),
+        Map.entry(int.class, () -> 0),
+        Map.entry(Integer.class, () -> 0),
+        Map.entry(long.class, () -> 0L),
+        Map.entry(Long.class, () -> 0L),
+        Map.entry(float.class, () -> 0f),
+        Map.entry(Float.class, () -> 0f),
+        Map.entry(double.class, () -> 0d),
+        Map.entry(Double.class, () -> 0d),
+        Map.entry(Optional.class, Optional::empty),
+        Map.entry(Stream.class, Stream::empty),
+        Map.entry(Iterable.class, Collections::emptyList),
+        Map.entry(Collection.class, Collections::emptyList),
+        Map.entry(List.class, Collections::emptyList),
+        Map.entry(Set.class, Collections::emptySet),
+        Map.entry(Map.class, Collections::emptyMap)
+    );
+
+    private final MockFactory fallback = new MockitoMockFactory();
+
+    @Override
+    public <T> T createMock(Class<T> type, String name) {
+        if (!type.isInterface()) {
+            return fallback.createMock(type, name);
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new ProxyMock(name)));
+    }
+
+    public static boolean isProxyMock(Object mock) {
+        return mock != null && Proxy.isProxyClass(mock.getClass()) && Proxy.getInvocationHandler(mock) instanceof ProxyMock;
+    }
+
+    /**
+     * Stubs the method of the given name, overloaded methods are told apart by their parameter types.
+     */
+    public static void stub(Object mock, String methodName, Function<Object[], Object> answer) {
+        stub(mock, methodName, null, answer);
+    }
+
+    public static void stub(Object mock, String methodName, Class<?>[] parameterTypes, Function<Object[], Object> answer) {
+        if (!isProxyMock(mock)) {
+            throw new IllegalArgumentException("%s is not created by the ProxyMockFactory".formatted(mock));
+        }
+        List<Method> methods = Stream.of(mock.getClass().getInterfaces())
+            .flatMap(type -> Stream.of(type.getMethods()))
+            .filter(method -> method.getName().equals(methodName) && (parameterTypes == null || Arrays.equals(method.getParameterTypes(), parameterTypes)))
+            .toList();
+        if (methods.size() != 1) {
+            throw new IllegalArgumentException("%s matches %d methods of %s, pass the parameter types of one of them".formatted(
+                methodName, methods.size(), mock));
+        }
+        ((ProxyMock) Proxy.getInvocationHandler(mock)).answers.put(methods.get(0), answer);
+    }
+
+    private static class ProxyMock implements InvocationHandler {
+        private final String name;
+        private final Map<Method, Function<Object[], Object>> answers = new ConcurrentHashMap<>();
+
+        ProxyMock(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> name;
+                };
+            }
+            Function<Object[], Object> answer = answers.get(method);
+            if (answer != null) {
+                return answer.apply(args == null ? new Object[0] : args);
+            }
+            return emptyValue(method.getReturnType());
+        }
+
+        private static Object emptyValue(Class<?> type) {
+            Supplier<Object> emptyValue = EMPTY_VALUES.get(type);
+            return emptyValue == null ? null : emptyValue.get();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package poc.xmockito.junit.jupiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Stands in for a slow real collaborator of an interface type. With {@code xmockito.recording.mode=RECORD} every call
+ * to the real value and its outcome are recorded under {@code src/test/resources/xmockito/recordings} of the module,
+ * in the default {@code REPLAY} mode the recorded outcomes are answered without calling the real value, once a
+ * recording exists. Arguments and outcomes must be serializable.
+ */
+@Target(FIELD)
+@Retention(RUNTIME)
+@Documented
+public @interface Recorded {
+}
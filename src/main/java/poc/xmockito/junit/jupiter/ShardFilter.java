@@ -0,0 +1,56 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+import poc.xmockito.junit.jupiter.internal.TestCosts;
+import poc.xmockito.junit.jupiter.internal.TestImpact;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs only the test classes of shard {@code xmockito.shard.index} out of {@code xmockito.shard.count}, given as
+ * system properties. Classes with a recorded cost are spread so all shards take about as long, the other ones are
+ * assigned by the hash of their name. The filter does nothing unless a shard count is given.
+ * <p>
+ * The filter is not registered automatically, list it in a
+ * {@code META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter} resource of the test classpath to use it.
+ * It needs {@code junit-platform-launcher}, which the test runner usually provides.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private final int index;
+    private final int count;
+    private final Map<String, Integer> assignment;
+
+    public ShardFilter() {
+        this(new Configuration(key -> Optional.ofNullable(System.getProperty(key))));
+    }
+
+    ShardFilter(Configuration configuration) {
+        this.index = configuration.shardIndex();
+        this.count = configuration.shardCount();
+        if (count > 1 && (index < 0 || index >= count)) {
+            throw new IllegalArgumentException("Shard index %d is not within [0, %d)".formatted(index, count));
+        }
+        this.assignment = count > 1 ? TestCosts.partition(TestCosts.costsByTestClass(configuration.costDirectory()), count) : Map.of();
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (count <= 1) {
+            return FilterResult.included("Not sharded");
+        }
+        Optional<String> testClass = descriptor.getSource().flatMap(TestImpact::testClassName);
+        if (testClass.isEmpty()) {
+            return FilterResult.included("Not a test class");
+        }
+
+        String topLevelClass = TestImpact.topLevelName(testClass.get());
+        int shard = assignment.getOrDefault(topLevelClass, Math.floorMod(topLevelClass.hashCode(), count));
+        return shard == index
+            ? FilterResult.included("In shard %d of %d".formatted(index, count))
+            : FilterResult.excluded("In shard %d of %d".formatted(shard, count));
+    }
+}
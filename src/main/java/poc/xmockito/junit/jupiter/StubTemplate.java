@@ -0,0 +1,22 @@
+package poc.xmockito.junit.jupiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Stubs the mocks of the test class once, before its first test. The recorded stubbings become the default answers
+ * of the mocks of every later test, so stubbing in a test or a {@code @BeforeEach} still takes precedence. Templates
+ * should only stub constant values: answers are shared by all tests of the class, a returned object is the same
+ * instance in each of them and changes one test makes to it are seen by the others. Stub mutable values per test.
+ * Replaying relies on Mockito internals, templates fail with a message naming the Mockito version when it is not
+ * supported.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+@Documented
+public @interface StubTemplate {
+}
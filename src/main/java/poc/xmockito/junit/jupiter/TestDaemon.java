@@ -0,0 +1,189 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+import poc.xmockito.junit.jupiter.internal.ReloadingClassLoaders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+/**
+ * Keeps a JVM running the JUnit Platform between local test runs, so class loading, mock class generation and the
+ * wiring plans are paid for once. Started with {@code serve}, it listens on the {@code xmockito.daemon.port} of the
+ * loopback interface. Any other arguments are sent to the daemon as {@code Class} or {@code Class#method} selectors,
+ * {@code stop} ends it. The directories in {@code xmockito.daemon.classes} and {@code xmockito.daemon.testClasses} are
+ * reloaded when their classes change, they must not be on the classpath of the daemon itself. The daemon needs
+ * {@code junit-platform-launcher} on its classpath, the extension does not bring it along.
+ * <p>
+ * Every local user can connect to the port, and running tests means running arbitrary code from the class
+ * directories. The daemon therefore writes a random token to {@code xmockito.daemon.tokenFile}, readable by its owner
+ * only where the file system supports it, and rejects every request not starting with that token. The token file is
+ * only as safe as its directory, which should not be shared with other users.
+ */
+public class TestDaemon implements AutoCloseable {
+    static final String EXIT = "xmockito-daemon-exit ";
+
+    private final ServerSocket server;
+    private final Path tokenFile;
+    private final byte[] token;
+    private final ReloadingClassLoaders classLoaders;
+    private final Launcher launcher = LauncherFactory.create();
+
+    public static void main(String... args) throws IOException {
+        Configuration configuration = new Configuration(key -> Optional.ofNullable(System.getProperty(key)));
+        if (args.length == 1 && args[0].equals("serve")) {
+            try (TestDaemon daemon = new TestDaemon(configuration)) {
+                System.out.println("XMockito test daemon listening on port " + daemon.port());
+                daemon.serve();
+            }
+        } else {
+            System.exit(send(configuration.daemonPort(), readToken(configuration.daemonTokenFile()), List.of(args), System.out));
+        }
+    }
+
+    TestDaemon(Configuration configuration) throws IOException {
+        this.server = new ServerSocket(configuration.daemonPort(), 0, InetAddress.getLoopbackAddress());
+        this.tokenFile = configuration.daemonTokenFile();
+        this.token = writeToken(tokenFile);
+        this.classLoaders = new ReloadingClassLoaders(TestDaemon.class.getClassLoader(),
+            configuration.daemonClassDirectories(), configuration.daemonTestClassDirectories());
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    private static byte[] writeToken(Path tokenFile) throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        Path directory = tokenFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Files.deleteIfExists(tokenFile);
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(tokenFile);
+        }
+        Files.writeString(tokenFile, token);
+        return token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String readToken(Path tokenFile) throws IOException {
+        try {
+            return Files.readString(tokenFile).trim();
+        } catch (NoSuchFileException e) {
+            throw new IOException("No token in %s, is the daemon running?".formatted(tokenFile), e);
+        }
+    }
+
+    /**
+     * Runs the requests one at a time, until asked to stop.
+     */
+    void serve() throws IOException {
+        boolean running = true;
+        while (running) {
+            try (Socket client = server.accept();
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                String presented = in.readLine();
+                String request = in.readLine();
+                if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+                    out.println("Rejected a request without the token of %s".formatted(tokenFile));
+                    out.println(EXIT + 2);
+                } else if (request == null || request.isBlank()) {
+                    out.println(EXIT + 2);
+                } else if (request.trim().equals("stop")) {
+                    out.println(EXIT + 0);
+                    running = false;
+                } else {
+                    out.println(EXIT + run(List.of(request.trim().split("\\s+")), out));
+                }
+            }
+        }
+    }
+
+    private int run(List<String> selectors, PrintWriter out) {
+        long started = System.nanoTime();
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try {
+            ClassLoader loader = classLoaders.current();
+            thread.setContextClassLoader(loader);
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            launcher.execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectors.stream().map(selector -> selectorFor(loader, selector)).toList())
+                .build(), listener);
+            TestExecutionSummary summary = listener.getSummary();
+            summary.printFailuresTo(out, 25);
+            summary.printTo(out);
+            out.println("Ran in %d ms".formatted((System.nanoTime() - started) / 1_000_000));
+            return summary.getTotalFailureCount() == 0 ? 0 : 1;
+        } catch (RuntimeException e) {
+            out.println("Unable to run %s: %s".formatted(String.join(" ", selectors), e));
+            return 2;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static DiscoverySelector selectorFor(ClassLoader loader, String selector) {
+        return selector.contains("#") ? selectMethod(loader, selector) : selectClass(loader, selector);
+    }
+
+    /**
+     * Sends the token and the selectors to the daemon, echoing its output, and returns the exit code it reports.
+     */
+    static int send(int port, String token, List<String> arguments, PrintStream output) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            out.println(token);
+            out.println(String.join(" ", arguments));
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.startsWith(EXIT)) {
+                    return Integer.parseInt(line.substring(EXIT.length()));
+                }
+                output.println(line);
+            }
+            return 2;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            server.close();
+        } finally {
+            try {
+                classLoaders.close();
+            } finally {
+                Files.deleteIfExists(tokenFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+import poc.xmockito.junit.jupiter.internal.TestImpact;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs only the test classes whose recorded wiring constructs, or is given a real instance of, one of the classes
+ * listed in the {@code xmockito.impact.changedClasses} system property, or which changed themselves. Test classes
+ * without a recorded wiring always run. The filter does nothing unless changed classes are given.
+ * <p>
+ * The filter is not registered automatically, list it in a
+ * {@code META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter} resource of the test classpath to use it.
+ * It needs {@code junit-platform-launcher}, which the test runner usually provides.
+ */
+public class TestImpactFilter implements PostDiscoveryFilter {
+    private final Set<String> changedClasses;
+    private final Map<String, Set<String>> wiredTypes;
+
+    public TestImpactFilter() {
+        this(new Configuration(key -> Optional.ofNullable(System.getProperty(key))));
+    }
+
+    TestImpactFilter(Configuration configuration) {
+        this.changedClasses = configuration.changedClasses().stream().map(TestImpact::topLevelName).collect(Collectors.toSet());
+        this.wiredTypes = changedClasses.isEmpty() ? Map.of() : TestImpact.wiredTypesByTestClass(configuration.impactDirectory());
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (changedClasses.isEmpty()) {
+            return FilterResult.included("No changed classes given");
+        }
+        Optional<String> testClass = descriptor.getSource().flatMap(TestImpact::testClassName);
+        if (testClass.isEmpty() || !wiredTypes.containsKey(testClass.get())) {
+            return FilterResult.included("No wiring recorded");
+        }
+        if (changedClasses.contains(TestImpact.topLevelName(testClass.get()))) {
+            return FilterResult.included("Test class changed");
+        }
+        return wiredTypes.get(testClass.get()).stream().map(TestImpact::topLevelName).anyMatch(changedClasses::contains)
+            ? FilterResult.included("Wires a changed class")
+            : FilterResult.excluded("Wires none of the changed classes");
+    }
+}
@@ -0,0 +1,20 @@
+package poc.xmockito.junit.jupiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * A field or single-parameter method of an {@link Instance} to inject once it is constructed, resolved like a
+ * constructor parameter. Only honoured for instances wired with {@link Instance.Injection#ANNOTATED} or
+ * {@link Instance.Injection#ALL}.
+ */
+@Target({FIELD, METHOD})
+@Retention(RUNTIME)
+@Documented
+public @interface Wired {
+}
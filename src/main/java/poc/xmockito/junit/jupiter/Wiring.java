@@ -0,0 +1,12 @@
+package poc.xmockito.junit.jupiter;
+
+/**
+ * The wiring of the current test, available as a parameter of test and {@code @BeforeEach} methods.
+ */
+public interface Wiring {
+    /**
+     * Replaces the wired dependency registered under the given type and name, rebuilds only the instances
+     * depending on it, directly or transitively, and re-injects the affected fields of the test instance.
+     */
+    <T> void replace(Class<T> type, String name, T value);
+}
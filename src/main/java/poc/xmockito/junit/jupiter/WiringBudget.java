@@ -0,0 +1,25 @@
+package poc.xmockito.junit.jupiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Limits the time and the memory allocated wiring each test of the class, {@code @Nested} classes included. A negative
+ * value leaves the suite wide default, configured through {@code xmockito.budget.maxMillis} and
+ * {@code xmockito.budget.maxAllocatedBytes}. Exceeding the budget fails the test, unless {@code xmockito.budget.mode}
+ * is {@code WARN}.
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+@Inherited
+@Documented
+public @interface WiringBudget {
+    long maxMillis() default -1;
+
+    long maxAllocatedBytes() default -1;
+}
@@ -0,0 +1,170 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.ClasspathRootSelector;
+import org.junit.platform.engine.discovery.PackageSelector;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import poc.xmockito.junit.jupiter.internal.WiringValidation;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Validates the wiring of every test class using the {@link XMockitoExtension} without running any test or calling
+ * any constructor. Enabled through the {@code xmockito.validation.enabled} configuration parameter, the engine
+ * reports one test per class and publishes all wiring failures as a single report entry of the engine.
+ */
+public class WiringValidationEngine implements TestEngine {
+    static final String ENGINE_ID = "xmockito-wiring-validation";
+    static final String VALIDATION_ENABLED = "xmockito.validation.enabled";
+    static final String REPORT_KEY = "xmockito.validation";
+
+    @Override
+    public String getId() {
+        return ENGINE_ID;
+    }
+
+    @Override
+    public Optional<String> getGroupId() {
+        return Optional.of("poc.xmockito");
+    }
+
+    @Override
+    public Optional<String> getArtifactId() {
+        return Optional.of("xmockito-extension");
+    }
+
+    @Override
+    public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+        EngineDescriptor engine = new EngineDescriptor(uniqueId, "XMockito Wiring Validation");
+        if (!discoveryRequest.getConfigurationParameters().getBoolean(VALIDATION_ENABLED).orElse(false)) {
+            return engine;
+        }
+
+        Predicate<String> classNames = Filter.composeFilters(discoveryRequest.getFiltersByType(ClassNameFilter.class)).toPredicate();
+        Predicate<Class<?>> usesExtension = WiringValidationEngine::usesXMockitoExtension;
+        Set<Class<?>> testClasses = new LinkedHashSet<>();
+        for (ClassSelector selector : discoveryRequest.getSelectorsByType(ClassSelector.class)) {
+            Optional.of(selector.getJavaClass()).filter(usesExtension).ifPresent(testClasses::add);
+        }
+        for (PackageSelector selector : discoveryRequest.getSelectorsByType(PackageSelector.class)) {
+            testClasses.addAll(ReflectionSupport.findAllClassesInPackage(selector.getPackageName(), usesExtension, classNames));
+        }
+        for (ClasspathRootSelector selector : discoveryRequest.getSelectorsByType(ClasspathRootSelector.class)) {
+            testClasses.addAll(ReflectionSupport.findAllClassesInClasspathRoot(selector.getClasspathRoot(), usesExtension, classNames));
+        }
+
+        for (Class<?> testClass : testClasses) {
+            UniqueId classId = engine.getUniqueId().append("class", testClass.getName());
+            TestDescriptor container = new ClassDescriptor(classId, testClass);
+            container.addChild(new ValidatedClassDescriptor(classId.append("wiring", "wiring"), testClass));
+            engine.addChild(container);
+        }
+        return engine;
+    }
+
+    @Override
+    public void execute(ExecutionRequest request) {
+        TestDescriptor engine = request.getRootTestDescriptor();
+        EngineExecutionListener listener = request.getEngineExecutionListener();
+        listener.executionStarted(engine);
+
+        // Validate all classes concurrently, the listener is notified from this thread only
+        Map<ValidatedClassDescriptor, CompletableFuture<TestExecutionResult>> results = engine.getChildren().stream()
+            .flatMap(container -> container.getChildren().stream())
+            .map(ValidatedClassDescriptor.class::cast)
+            .collect(Collectors.toMap(Function.identity(), it -> CompletableFuture.supplyAsync(it::validate), (a, b) -> a, LinkedHashMap::new));
+
+        List<String> failures = new ArrayList<>();
+        results.forEach((descriptor, result) -> {
+            TestExecutionResult executionResult = result.join();
+            TestDescriptor container = descriptor.getParent().orElseThrow();
+            listener.executionStarted(container);
+            listener.executionStarted(descriptor);
+            listener.executionFinished(descriptor, executionResult);
+            listener.executionFinished(container, TestExecutionResult.successful());
+            executionResult.getThrowable().ifPresent(failure -> failures.add(failure.getMessage()));
+        });
+
+        if (!failures.isEmpty()) {
+            listener.reportingEntryPublished(engine, ReportEntry.from(REPORT_KEY, "%d of %d classes failed%s%s".formatted(
+                failures.size(), results.size(), System.lineSeparator(), String.join(System.lineSeparator(), failures))));
+        }
+        listener.executionFinished(engine, TestExecutionResult.successful());
+    }
+
+    private static boolean usesXMockitoExtension(Class<?> candidate) {
+        if (Modifier.isAbstract(candidate.getModifiers()) || candidate.isMemberClass() && !Modifier.isStatic(candidate.getModifiers())) {
+            return false;
+        }
+        return AnnotationSupport.findRepeatableAnnotations(candidate, ExtendWith.class).stream()
+            .flatMap(extendWith -> stream(extendWith.value()))
+            .anyMatch(XMockitoExtension.class::isAssignableFrom);
+    }
+
+    private static class ClassDescriptor extends AbstractTestDescriptor {
+        ClassDescriptor(UniqueId uniqueId, Class<?> testClass) {
+            super(uniqueId, testClass.getSimpleName(), ClassSource.from(testClass));
+        }
+
+        @Override
+        public String getLegacyReportingName() {
+            return getSource().map(ClassSource.class::cast).map(ClassSource::getClassName).orElse(getDisplayName());
+        }
+
+        @Override
+        public Type getType() {
+            return Type.CONTAINER;
+        }
+    }
+
+    private static class ValidatedClassDescriptor extends AbstractTestDescriptor {
+        private final Class<?> testClass;
+
+        ValidatedClassDescriptor(UniqueId uniqueId, Class<?> testClass) {
+            super(uniqueId, "wiring", ClassSource.from(testClass));
+            this.testClass = testClass;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.TEST;
+        }
+
+        TestExecutionResult validate() {
+            try {
+                WiringValidation.validate(testClass);
+                return TestExecutionResult.successful();
+            } catch (RuntimeException e) {
+                return TestExecutionResult.failed(e);
+            }
+        }
+    }
+}
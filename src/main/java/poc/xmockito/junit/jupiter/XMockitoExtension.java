@@ -3,61 +3,252 @@ package poc.xmockito.junit.jupiter;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
-import org.mockito.Mockito;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.mockito.MockSettings;
+import org.mockito.stubbing.Answer;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+import poc.xmockito.junit.jupiter.internal.InvocationMetrics;
+import poc.xmockito.junit.jupiter.internal.MockFactories;
+import poc.xmockito.junit.jupiter.internal.Recordings;
+import poc.xmockito.junit.jupiter.internal.ResourceLocks;
+import poc.xmockito.junit.jupiter.internal.SessionInstances;
+import poc.xmockito.junit.jupiter.internal.Snapshots;
+import poc.xmockito.junit.jupiter.internal.StubTemplates;
+import poc.xmockito.junit.jupiter.internal.TestCosts;
+import poc.xmockito.junit.jupiter.internal.TestImpact;
+import poc.xmockito.junit.jupiter.internal.TestWiring;
+import poc.xmockito.junit.jupiter.internal.WiringBudgets;
 import poc.xmockito.junit.jupiter.internal.WiringEngine;
+import poc.xmockito.junit.jupiter.internal.WiringPlan;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
-import static java.util.Arrays.stream;
 import static poc.xmockito.junit.jupiter.internal.ReflectionUtils.extract;
+import static org.mockito.Mockito.withSettings;
 import static poc.xmockito.junit.jupiter.internal.ReflectionUtils.inject;
 
-public class XMockitoExtension implements BeforeEachCallback, AfterEachCallback {
+public class XMockitoExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(XMockitoExtension.class);
+    static final String BUDGET_WARNING = "xmockito.budget.warning";
 
-    private final WiringEngine context = new WiringEngine();
+    private final Set<Class<?>> exportedTestClasses = ConcurrentHashMap.newKeySet();
+    private final Set<Class<?>> impactRecordedTestClasses = ConcurrentHashMap.newKeySet();
 
     public void beforeEach(ExtensionContext context) {
-        this.context.clear();
-        Object testInstance = context.getTestInstance().get();
+        List<Object> testInstances = context.getRequiredTestInstances().getAllInstances();
+        Configuration configuration = new Configuration(context::getConfigurationParameter);
+        InvocationMetrics metrics = configuration.mockMetricsEnabled() ? context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(InvocationMetrics.class) : null;
+
+        // Only predefined fields a constructor can ask for are collected, at any level
+        Set<Class<?>> referencedTypes = new HashSet<>();
+        for (Object testInstance : testInstances) {
+            referencedTypes.addAll(WiringPlan.of(testInstance.getClass()).referencedTypes());
+        }
 
-        // Collect Predefined
-        for (Field predefined : dependenciesToCollect(testInstance)) {
-            this.context.register(predefined, extract(testInstance, predefined));
+        // Tests sharing a mutable object run one at a time, from before their stub templates and initializers touch it
+        // until they are torn down
+        if (configuration.sharedLocksEnabled()) {
+            Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+            testInstances.forEach(testInstance -> shared.addAll(ResourceLocks.sharedBy(testInstance, referencedTypes)));
+            if (!shared.isEmpty()) {
+                ResourceLocks locks = context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(ResourceLocks.class);
+                context.getStore(NAMESPACE).put(ResourceLocks.Held.class, locks.acquire(shared));
+            }
         }
 
-        // Create Mocks
-        for (Field mocked : dependenciesToMock(testInstance)) {
-            this.context.register(mocked, Mockito.mock(mocked.getType()));
+        // Measured once the locks are held, waiting for another test is no part of this test's wiring costs
+        long setupStarted = System.nanoTime();
+        long allocatedBefore = WiringBudgets.allocatedBytes();
+
+        // Every enclosing instance of a @Nested test gets its own layer, lookups fall through to the outer ones
+        ExtensionContext.Store classStore = classContext(context).getStore(NAMESPACE);
+        Snapshots snapshots = classStore.getOrComputeIfAbsent(Snapshots.class);
+        StubTemplates stubTemplates = classStore.getOrComputeIfAbsent(StubTemplates.class);
+        SessionInstances sessionInstances = context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SessionInstances.class);
+        TestWiring wiring = new TestWiring(snapshots, sessionInstances, configuration.constructionTimeout());
+        for (Object testInstance : testInstances) {
+            Recordings recordings = classContext(context).getStore(NAMESPACE).getOrComputeIfAbsent(Recordings.class.getName() + testInstance.getClass().getName(),
+                key -> new Recordings(configuration.recordingDirectory(), testInstance.getClass(), configuration.recordingMode()), Recordings.class);
+            wire(wiring.addLayer(testInstance), testInstance, referencedTypes, configuration, metrics, stubTemplates, recordings);
+        }
+        context.getStore(NAMESPACE).put(TestWiring.class, wiring);
+        wiring.awaitInitialization();
+        long wiringNanos = System.nanoTime() - setupStarted;
+        long allocatedBytes = allocatedBefore < 0 ? -1 : WiringBudgets.allocatedBytes() - allocatedBefore;
+
+        // Export the resolved graph, once per test class
+        Object testInstance = context.getRequiredTestInstance();
+        if (configuration.graphExportEnabled() && exportedTestClasses.add(testInstance.getClass())) {
+            wiring.innermost().exportGraph(configuration.graphExportDirectory(), testInstance.getClass().getName(), configuration.slowConstructorThreshold());
         }
 
-        // Create Instances
-        this.context.wireInstances(dependenciesToInstantiate(testInstance));
+        // Record the wired production classes for test impact selection, once per test class
+        if (configuration.impactRecordingEnabled() && impactRecordedTestClasses.add(testInstance.getClass())) {
+            TestImpact.record(configuration.impactDirectory(), testInstance.getClass().getName(), wiring.constructedTypes(), wiring.predefinedTypes(), wiring.mockedTypes());
+        }
 
-        // Inject the created Mocks and Instances
-        for (Field field : dependenciesToInject(testInstance)) {
-            inject(testInstance, field, this.context.lookup(field.getType(), field.getName()));
+        if (configuration.costRecordingEnabled()) {
+            TestCosts.Recorder recorder = classStore.getOrComputeIfAbsent(TestCosts.Recorder.class,
+                key -> new TestCosts.Recorder(configuration.costDirectory(), testInstance.getClass().getName()), TestCosts.Recorder.class);
+            long setupFinished = System.nanoTime();
+            context.getStore(NAMESPACE).put(Timing.class, new Timing(recorder, setupFinished - setupStarted, setupFinished));
         }
+
+        // Checked last, so a test failing its budget is still torn down and its costs recorded
+        WiringBudgets.budgetFor(testInstance.getClass(), configuration).flatMap(budget -> classStore.getOrComputeIfAbsent(WiringBudgets.Report.class,
+                key -> new WiringBudgets.Report(configuration.budgetDirectory(), testInstance.getClass().getName(), budget, configuration.budgetFailOnExceeded()),
+                WiringBudgets.Report.class)
+            .check(testName(context), wiringNanos, allocatedBytes))
+            .ifPresent(warning -> context.publishReportEntry(BUDGET_WARNING, warning));
+
     }
 
-    private static List<Field> dependenciesToInstantiate(Object testInstance) {
-        return stream(testInstance.getClass().getDeclaredFields()).filter(it -> it.isAnnotationPresent(Instance.class)).toList();
+    private static String testName(ExtensionContext context) {
+        String method = context.getRequiredTestMethod().getName() + "()";
+        return method.equals(context.getDisplayName()) ? method : "%s %s".formatted(method, context.getDisplayName());
     }
 
-    private static List<Field> dependenciesToMock(Object testInstance) {
-        return stream(testInstance.getClass().getDeclaredFields()).filter(it -> it.isAnnotationPresent(Mock.class)).toList();
+    private static void wire(WiringEngine context, Object testInstance, Set<Class<?>> referencedTypes, Configuration configuration, InvocationMetrics metrics,
+                             StubTemplates stubTemplates, Recordings recordings) {
+        WiringPlan plan = WiringPlan.of(testInstance.getClass());
+
+        // Collect Predefined, recorded ones are replaced by their stand-in in the test as well
+        for (Field predefined : plan.dependenciesToCollect(referencedTypes)) {
+            Object value = extract(testInstance, predefined);
+            if (predefined.isAnnotationPresent(Recorded.class)) {
+                value = recordings.standIn(predefined, value);
+                inject(testInstance, predefined, value);
+            }
+            context.register(predefined, value);
+        }
+
+        // Create Mocks
+        boolean replayStubTemplates = stubTemplates.isRecorded(testInstance.getClass());
+        Map<Field, Object> mocks = createMocks(plan.dependenciesToMock(), testInstance.getClass(), configuration, metrics, replayStubTemplates ? stubTemplates : null);
+        for (Field mocked : plan.dependenciesToMock()) {
+            context.registerMock(mocked, mocks.get(mocked));
+        }
+
+        // Record the stub templates on the first test's mocks, before any instance can use them
+        if (!replayStubTemplates && !plan.stubTemplates().isEmpty()) {
+            plan.dependenciesToInject().stream()
+                .filter(field -> field.isAnnotationPresent(Mock.class))
+                .forEach(mocked -> inject(testInstance, mocked, context.lookup(mocked.getType(), mocked.getName())));
+            stubTemplates.record(testInstance, plan.stubTemplates(), mocks);
+        }
+
+        // Create Instances and Fakes
+        context.wireInstances(plan.dependenciesToInstantiate());
+
+        // Inject the created Mocks, Instances and Fakes
+        for (Field field : plan.dependenciesToInject()) {
+            inject(testInstance, field, context.lookup(field.getType(), field.getName()));
+        }
     }
 
-    private static List<Field> dependenciesToInject(Object testInstance) {
-        return stream(testInstance.getClass().getDeclaredFields()).filter(it -> it.isAnnotationPresent(Instance.class) || it.isAnnotationPresent(Mock.class)).toList();
+    /**
+     * With {@code xmockito.mocks.parallelCreation.enabled}, mocks of distinct types are created concurrently, as
+     * generating their classes is the expensive part. Mocks sharing a type are created one after another, by the same
+     * task, with the context class loader of the test. Mockito keeps its mock creation listeners per thread, so the
+     * listeners added through {@code Mockito.framework()} or by a {@code MockitoSession} never see these mocks, which
+     * is why parallel creation is off by default.
+     */
+    private static Map<Field, Object> createMocks(List<Field> fields, Class<?> testClass, Configuration configuration, InvocationMetrics metrics,
+                                                 StubTemplates stubTemplates) {
+        Map<Field, Object> mocks = new ConcurrentHashMap<>();
+        Map<Class<?>, List<Field>> fieldsByType = fields.stream().collect(Collectors.groupingBy(Field::getType, LinkedHashMap::new, Collectors.toList()));
+        if (!configuration.parallelMockCreationEnabled() || fieldsByType.size() < 2) {
+            fields.forEach(mocked -> mocks.put(mocked, createMock(mocked, testClass, configuration, metrics, stubTemplates)));
+            return mocks;
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            CompletableFuture.allOf(fieldsByType.values().stream()
+                .map(sameType -> CompletableFuture.runAsync(() -> {
+                    Thread current = Thread.currentThread();
+                    ClassLoader previous = current.getContextClassLoader();
+                    current.setContextClassLoader(contextClassLoader);
+                    try {
+                        sameType.forEach(mocked -> mocks.put(mocked, createMock(mocked, testClass, configuration, metrics, stubTemplates)));
+                    } finally {
+                        current.setContextClassLoader(previous);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return mocks;
     }
 
-    private static List<Field> dependenciesToCollect(Object testInstance) {
-        return stream(testInstance.getClass().getDeclaredFields()).filter(it -> !it.isAnnotationPresent(Instance.class) && !it.isAnnotationPresent(Mock.class)).toList();
+    private static Object createMock(Field mocked, Class<?> testClass, Configuration configuration, InvocationMetrics metrics, StubTemplates stubTemplates) {
+        MockFactory factory = MockFactories.factoryFor(mocked, configuration);
+        Answer<Object> template = stubTemplates == null ? null : stubTemplates.answerFor(mocked);
+        if (!(factory instanceof MockitoMockFactory mockito) || metrics == null && template == null) {
+            return factory.createMock(mocked.getType(), mocked.getName());
+        }
+
+        MockSettings settings = metrics != null ? metrics.settingsFor(testClass, mocked) : withSettings();
+        if (template != null) {
+            settings.defaultAnswer(template);
+        }
+        return mockito.createMock(mocked.getType(), settings.name(mocked.getName()));
     }
 
     public void afterEach(ExtensionContext context) {
-        this.context.clear();
+        long testFinished = System.nanoTime();
+        TestWiring wiring = context.getStore(NAMESPACE).remove(TestWiring.class, TestWiring.class);
+        Timing timing = context.getStore(NAMESPACE).remove(Timing.class, Timing.class);
+        try {
+            if (wiring != null) {
+                try {
+                    wiring.close();
+                } finally {
+                    wiring.clear();
+                }
+            }
+        } finally {
+            if (timing != null) {
+                timing.recorder().record(timing.setupNanos() + System.nanoTime() - testFinished, testFinished - timing.setupFinished());
+            }
+        }
+    }
+
+    /**
+     * The context of the test class, above the containers of repeated and parameterized tests.
+     */
+    private static ExtensionContext classContext(ExtensionContext context) {
+        ExtensionContext classContext = context.getParent().orElseThrow();
+        while (classContext.getTestMethod().isPresent()) {
+            classContext = classContext.getParent().orElseThrow();
+        }
+        return classContext;
+    }
+
+    private record Timing(TestCosts.Recorder recorder, long setupNanos, long setupFinished) {
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == Wiring.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(TestWiring.class, TestWiring.class);
     }
 }
 
@@ -0,0 +1,167 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import poc.xmockito.junit.jupiter.MockitoMockFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class Configuration {
+    static final String GRAPH_EXPORT_ENABLED = "xmockito.graph.export.enabled";
+    static final String GRAPH_EXPORT_DIRECTORY = "xmockito.graph.export.directory";
+    static final String GRAPH_SLOW_CONSTRUCTOR_THRESHOLD_MILLIS = "xmockito.graph.slowConstructorThresholdMillis";
+    static final String MOCK_METRICS_ENABLED = "xmockito.mocks.metrics.enabled";
+    static final String MOCK_FACTORY = "xmockito.mocks.factory";
+    static final String MOCK_PARALLEL_CREATION_ENABLED = "xmockito.mocks.parallelCreation.enabled";
+    static final String IMPACT_RECORDING_ENABLED = "xmockito.impact.recording.enabled";
+    static final String IMPACT_DIRECTORY = "xmockito.impact.directory";
+    static final String IMPACT_CHANGED_CLASSES = "xmockito.impact.changedClasses";
+    static final String COST_RECORDING_ENABLED = "xmockito.cost.recording.enabled";
+    static final String COST_DIRECTORY = "xmockito.cost.directory";
+    static final String SHARD_INDEX = "xmockito.shard.index";
+    static final String SHARD_COUNT = "xmockito.shard.count";
+    static final String BUDGET_MAX_MILLIS = "xmockito.budget.maxMillis";
+    static final String BUDGET_MAX_ALLOCATED_BYTES = "xmockito.budget.maxAllocatedBytes";
+    static final String BUDGET_MODE = "xmockito.budget.mode";
+    static final String BUDGET_DIRECTORY = "xmockito.budget.directory";
+    static final String RECORDING_MODE = "xmockito.recording.mode";
+    static final String RECORDING_DIRECTORY = "xmockito.recording.directory";
+    static final String SHARED_LOCKS_ENABLED = "xmockito.sharedLocks.enabled";
+    static final String DAEMON_PORT = "xmockito.daemon.port";
+    static final String DAEMON_CLASSES = "xmockito.daemon.classes";
+    static final String DAEMON_TEST_CLASSES = "xmockito.daemon.testClasses";
+    static final String DAEMON_TOKEN_FILE = "xmockito.daemon.tokenFile";
+    static final String CONSTRUCTION_TIMEOUT_MILLIS = "xmockito.construction.timeoutMillis";
+
+    private final Function<String, Optional<String>> parameters;
+
+    public Configuration(Function<String, Optional<String>> parameters) {
+        this.parameters = parameters;
+    }
+
+    public boolean graphExportEnabled() {
+        return parameters.apply(GRAPH_EXPORT_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Path graphExportDirectory() {
+        return Path.of(parameters.apply(GRAPH_EXPORT_DIRECTORY).orElse("target/xmockito/graphs"));
+    }
+
+    public Duration slowConstructorThreshold() {
+        return Duration.ofMillis(parameters.apply(GRAPH_SLOW_CONSTRUCTOR_THRESHOLD_MILLIS).map(Long::parseLong).orElse(100L));
+    }
+
+    public boolean mockMetricsEnabled() {
+        return parameters.apply(MOCK_METRICS_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public boolean parallelMockCreationEnabled() {
+        return parameters.apply(MOCK_PARALLEL_CREATION_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public boolean impactRecordingEnabled() {
+        return parameters.apply(IMPACT_RECORDING_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Path impactDirectory() {
+        return Path.of(parameters.apply(IMPACT_DIRECTORY).orElse("target/xmockito/impact"));
+    }
+
+    public Set<String> changedClasses() {
+        return parameters.apply(IMPACT_CHANGED_CLASSES).stream()
+            .flatMap(it -> Arrays.stream(it.split(",")))
+            .map(String::trim)
+            .filter(it -> !it.isEmpty())
+            .collect(Collectors.toSet());
+    }
+
+    public boolean costRecordingEnabled() {
+        return parameters.apply(COST_RECORDING_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Path costDirectory() {
+        return Path.of(parameters.apply(COST_DIRECTORY).orElse("target/xmockito/cost"));
+    }
+
+    public int shardIndex() {
+        return parameters.apply(SHARD_INDEX).map(Integer::parseInt).orElse(0);
+    }
+
+    public int shardCount() {
+        return parameters.apply(SHARD_COUNT).map(Integer::parseInt).orElse(1);
+    }
+
+    public long budgetMaxMillis() {
+        return parameters.apply(BUDGET_MAX_MILLIS).map(Long::parseLong).orElse(-1L);
+    }
+
+    public long budgetMaxAllocatedBytes() {
+        return parameters.apply(BUDGET_MAX_ALLOCATED_BYTES).map(Long::parseLong).orElse(-1L);
+    }
+
+    public boolean budgetFailOnExceeded() {
+        return !parameters.apply(BUDGET_MODE).map(it -> it.equalsIgnoreCase("WARN")).orElse(false);
+    }
+
+    public Path budgetDirectory() {
+        return Path.of(parameters.apply(BUDGET_DIRECTORY).orElse("target/xmockito/budgets"));
+    }
+
+    public Recordings.Mode recordingMode() {
+        return parameters.apply(RECORDING_MODE).map(it -> Recordings.Mode.valueOf(it.toUpperCase(Locale.ROOT))).orElse(Recordings.Mode.REPLAY);
+    }
+
+    public Path recordingDirectory() {
+        return Path.of(parameters.apply(RECORDING_DIRECTORY).orElse("src/test/resources/xmockito/recordings"));
+    }
+
+    public boolean sharedLocksEnabled() {
+        return parameters.apply(SHARED_LOCKS_ENABLED).map(Boolean::parseBoolean).orElse(true);
+    }
+
+    public int daemonPort() {
+        return parameters.apply(DAEMON_PORT).map(Integer::parseInt).orElse(7391);
+    }
+
+    public List<Path> daemonClassDirectories() {
+        return paths(DAEMON_CLASSES, "target/classes");
+    }
+
+    public List<Path> daemonTestClassDirectories() {
+        return paths(DAEMON_TEST_CLASSES, "target/test-classes");
+    }
+
+    public Path daemonTokenFile() {
+        return Path.of(parameters.apply(DAEMON_TOKEN_FILE).orElse("target/xmockito-daemon.token"));
+    }
+
+    private List<Path> paths(String key, String defaultValue) {
+        return Arrays.stream(parameters.apply(key).orElse(defaultValue).split(","))
+            .map(String::trim)
+            .filter(it -> !it.isEmpty())
+            .map(Path::of)
+            .toList();
+    }
+
+    public Duration constructionTimeout() {
+        return Duration.ofMillis(parameters.apply(CONSTRUCTION_TIMEOUT_MILLIS).map(Long::parseLong).orElse(0L));
+    }
+
+    public Class<?> mockFactory() {
+        return parameters.apply(MOCK_FACTORY).map(Configuration::loadClass).orElse(MockitoMockFactory.class);
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new WiringException("Unable to load %s".formatted(className), e);
+        }
+    }
+}
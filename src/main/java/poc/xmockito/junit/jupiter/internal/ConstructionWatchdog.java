@@ -0,0 +1,110 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs constructions on daemon worker threads and gives up on the ones not completing in time, reporting what the
+ * stuck worker is doing. The stuck worker is interrupted and left behind, it cannot keep the JVM from exiting. Workers
+ * see the context class loader of the waiting thread, a construction completing after it was given up on is
+ * discarded.
+ */
+class ConstructionWatchdog {
+    private static final AtomicInteger WORKERS = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread worker = new Thread(task, "xmockito-construction-" + WORKERS.incrementAndGet());
+        worker.setDaemon(true);
+        return worker;
+    });
+
+    private ConstructionWatchdog() {
+    }
+
+    static <T> T call(Callable<T> construction, Duration timeout, Supplier<String> description, Consumer<T> discard) {
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        // Claimed by whoever comes first, the waiting thread giving up or the worker completing
+        AtomicBoolean claimed = new AtomicBoolean();
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Future<T> result = EXECUTOR.submit(() -> {
+            Thread current = Thread.currentThread();
+            ClassLoader previous = current.getContextClassLoader();
+            worker.set(current);
+            current.setContextClassLoader(contextClassLoader);
+            try {
+                T constructed = construction.call();
+                if (!claimed.compareAndSet(false, true)) {
+                    discard.accept(constructed);
+                }
+                return constructed;
+            } finally {
+                current.setContextClassLoader(previous);
+            }
+        });
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!claimed.compareAndSet(false, true)) {
+                // Completed right after the timeout, it is used all the same
+                return completed(result, description);
+            }
+            String dump = worker.get() == null ? "\tnot started" : threadDump(worker.get());
+            result.cancel(true);
+            throw new WiringException("%s did not complete within %d ms%s%s".formatted(description.get(), timeout.toMillis(), System.lineSeparator(), dump));
+        } catch (ExecutionException e) {
+            throw unwrapped(e, description);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new WiringException("Interrupted while waiting for %s".formatted(description.get()), e);
+        }
+    }
+
+    private static <T> T completed(Future<T> result, Supplier<String> description) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw unwrapped(e, description);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WiringException("Interrupted while waiting for %s".formatted(description.get()), e);
+        }
+    }
+
+    private static RuntimeException unwrapped(ExecutionException e, Supplier<String> description) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        if (e.getCause() instanceof Error cause) {
+            throw cause;
+        }
+        return new WiringException(description.get(), e.getCause());
+    }
+
+    private static String threadDump(Thread thread) {
+        ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(thread.getId());
+        StringBuilder dump = new StringBuilder("\"%s\" %s".formatted(thread.getName(), thread.getState()));
+        if (info != null && info.getLockInfo() != null) {
+            dump.append(" on ").append(info.getLockInfo());
+            if (info.getLockOwnerName() != null) {
+                dump.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+            }
+        }
+        for (StackTraceElement frame : thread.getStackTrace()) {
+            dump.append(System.lineSeparator()).append("\tat ").append(frame);
+        }
+        return dump.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.MockSettings;
+import org.mockito.invocation.DescribedInvocation;
+import org.mockito.invocation.Invocation;
+import org.mockito.listeners.InvocationListener;
+import org.mockito.listeners.MethodInvocationReport;
+import org.mockito.listeners.StubbingLookupEvent;
+import org.mockito.listeners.StubbingLookupListener;
+
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.stream;
+import static org.mockito.Mockito.withSettings;
+
+public class InvocationMetrics implements ExtensionContext.Store.CloseableResource {
+    private final Map<String, Map<String, Counter>> mockToMethodCounters = new ConcurrentHashMap<>();
+    private final PrintStream out;
+
+    public InvocationMetrics() {
+        this(System.out);
+    }
+
+    InvocationMetrics(PrintStream out) {
+        this.out = out;
+    }
+
+    public MockSettings settingsFor(Class<?> testClass, Field mocked) {
+        Listener listener = new Listener(mockToMethodCounters.computeIfAbsent(
+            "%s.%s (%s)".formatted(testClass.getSimpleName(), mocked.getName(), mocked.getType().getSimpleName()),
+            key -> new ConcurrentHashMap<>()));
+        return withSettings().invocationListeners(listener).stubbingLookupListeners(listener);
+    }
+
+    @Override
+    public void close() {
+        if (!mockToMethodCounters.isEmpty()) {
+            out.print(report());
+        }
+    }
+
+    String report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("XMockito mock invocation hot spots (ranked by time spent in answers)");
+        mockToMethodCounters.entrySet().stream()
+            .sorted(Comparator.comparing((Map.Entry<String, Map<String, Counter>> entry) -> total(entry.getValue()).nanos()).reversed())
+            .forEach(mock -> {
+                Total total = total(mock.getValue());
+                lines.add("  %s  %d invocations, %s ms".formatted(mock.getKey(), total.invocations(), millis(total.nanos())));
+                mock.getValue().entrySet().stream()
+                    .sorted(Comparator.comparing((Map.Entry<String, Counter> entry) -> entry.getValue().nanos.sum()).reversed())
+                    .forEach(method -> lines.add("    %s  %d invocations, %s ms".formatted(
+                        method.getKey(), method.getValue().invocations.sum(), millis(method.getValue().nanos.sum()))));
+            });
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    private static Total total(Map<String, Counter> counters) {
+        return new Total(
+            counters.values().stream().mapToLong(it -> it.invocations.sum()).sum(),
+            counters.values().stream().mapToLong(it -> it.nanos.sum()).sum());
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String asString(Method method) {
+        return "%s(%s)".formatted(method.getName(), stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ")));
+    }
+
+    private record Total(long invocations, long nanos) {
+    }
+
+    private static class Counter {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    /**
+     * Mockito looks up the stubbed answer right before invoking it and reports the invocation right after,
+     * so the time in between is the time spent in the answer. Verifications skip the lookup and are not counted.
+     * Lookups are matched to their report by invocation and held by the mock's listener, so a lookup never reported
+     * neither skews other invocations nor outlives the mock.
+     */
+    private static class Listener implements InvocationListener, StubbingLookupListener {
+        private final Map<String, Counter> methodCounters;
+        private final Map<DescribedInvocation, Long> started = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        Listener(Map<String, Counter> methodCounters) {
+            this.methodCounters = methodCounters;
+        }
+
+        @Override
+        public void onStubbingLookup(StubbingLookupEvent stubbingLookupEvent) {
+            started.put(stubbingLookupEvent.getInvocation(), System.nanoTime());
+        }
+
+        @Override
+        public void reportInvocation(MethodInvocationReport methodInvocationReport) {
+            long now = System.nanoTime();
+            Long start = started.remove(methodInvocationReport.getInvocation());
+            if (start == null) {
+                return;
+            }
+            Counter counter = methodCounters.computeIfAbsent(
+                asString(((Invocation) methodInvocationReport.getInvocation()).getMethod()), key -> new Counter());
+            counter.invocations.increment();
+            counter.nanos.add(now - start);
+        }
+    }
+}
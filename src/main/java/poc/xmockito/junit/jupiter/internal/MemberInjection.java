@@ -0,0 +1,156 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import poc.xmockito.junit.jupiter.Instance;
+import poc.xmockito.junit.jupiter.Wired;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields and methods of a type injected after its construction, discovered once per type and bound to method
+ * handles taking the instance and the value as plain objects.
+ */
+class MemberInjection {
+    private static final MethodType INJECTOR = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType READER = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<List<Member>> ANNOTATED = new ClassValue<>() {
+        @Override
+        protected List<Member> computeValue(Class<?> type) {
+            return discover(type, false);
+        }
+    };
+    private static final ClassValue<List<Member>> ALL = new ClassValue<>() {
+        @Override
+        protected List<Member> computeValue(Class<?> type) {
+            return discover(type, true);
+        }
+    };
+
+    private MemberInjection() {
+    }
+
+    /**
+     * {@link Wired} members are required to resolve. The others are filled when they can be, fields only when unset.
+     */
+    record Member(String name, Class<?> type, String description, boolean required, MethodHandle injector, MethodHandle reader) {
+        boolean isUnset(Object instance) {
+            return holds(instance, null);
+        }
+
+        /**
+         * Setters cannot be read, they always hold the value they are called with.
+         */
+        boolean holds(Object instance, Object value) {
+            try {
+                return reader == null || reader.invokeExact(instance) == value;
+            } catch (Throwable e) {
+                throw new WiringException("Unable to read %s".formatted(description), e);
+            }
+        }
+
+        void inject(Object instance, Object value) {
+            try {
+                injector.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw new WiringException("Unable to inject %s".formatted(description), e);
+            }
+        }
+    }
+
+    static List<Member> membersOf(Field field) {
+        Instance.Injection injection = field.isAnnotationPresent(Instance.class) ? field.getAnnotation(Instance.class).injection() : Instance.Injection.CONSTRUCTOR;
+        return switch (injection) {
+            case CONSTRUCTOR -> List.of();
+            case ANNOTATED -> ANNOTATED.get(field.getType());
+            case ALL -> ALL.get(field.getType());
+        };
+    }
+
+    private static List<Member> discover(Class<?> type, boolean all) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+
+        // Classes of packages not open to the extension, like the JDK's, keep their internals to themselves
+        hierarchy.removeIf(declaring -> !isOpen(declaring));
+
+        List<Member> members = new ArrayList<>();
+        for (Class<?> declaring : hierarchy) {
+            for (Field field : declaring.getDeclaredFields()) {
+                boolean wired = field.isAnnotationPresent(Wired.class);
+                if (wired && (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers()))) {
+                    throw new WiringException("%s cannot be wired, it is static or final".formatted(ReflectionUtils.asString(field)));
+                }
+                if (wired || all && isFillable(field)) {
+                    members.add(memberOf(field, wired));
+                }
+            }
+        }
+
+        // Overridden methods are injected once, through their most specific declaration
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Class<?> declaring : hierarchy) {
+            for (Method method : declaring.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Wired.class) || all && isSetter(method)) {
+                    methods.put(method.getName() + MethodType.methodType(void.class, method.getParameterTypes()), method);
+                }
+            }
+        }
+        for (Method method : methods.values()) {
+            if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())) {
+                throw new WiringException("%s cannot be wired, it does not take exactly one value".formatted(ReflectionUtils.asString(method)));
+            }
+            members.add(memberOf(method, method.isAnnotationPresent(Wired.class)));
+        }
+        return List.copyOf(members);
+    }
+
+    private static boolean isOpen(Class<?> type) {
+        return type.getModule().isOpen(type.getPackageName(), MemberInjection.class.getModule());
+    }
+
+    private static boolean isFillable(Field field) {
+        int modifiers = field.getModifiers();
+        return !field.isSynthetic() && !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.getType().isPrimitive();
+    }
+
+    private static boolean isSetter(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()) && !method.isBridge()
+            && method.getParameterCount() == 1 && method.getName().length() > 3 && method.getName().startsWith("set")
+            && Character.isUpperCase(method.getName().charAt(3));
+    }
+
+    private static Member memberOf(Field field, boolean required) {
+        try {
+            VarHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field);
+            return new Member(field.getName(), field.getType(), ReflectionUtils.asString(field), required,
+                handle.toMethodHandle(VarHandle.AccessMode.SET).asType(INJECTOR),
+                required ? null : handle.toMethodHandle(VarHandle.AccessMode.GET).asType(READER));
+        } catch (IllegalAccessException e) {
+            throw new WiringException("Unable to access %s".formatted(ReflectionUtils.asString(field)), e);
+        }
+    }
+
+    private static Member memberOf(Method method, boolean required) {
+        try {
+            MethodHandle handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+            return new Member(ParameterNames.nameOf(method.getParameters()[0]), method.getParameterTypes()[0], ReflectionUtils.asString(method), required,
+                MethodHandles.dropReturn(handle).asType(INJECTOR), null);
+        } catch (IllegalAccessException e) {
+            throw new WiringException("Unable to access %s".formatted(ReflectionUtils.asString(method)), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import poc.xmockito.junit.jupiter.Mock;
+import poc.xmockito.junit.jupiter.MockFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MockFactories {
+    private static final Map<Class<?>, MockFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    private MockFactories() {
+    }
+
+    public static MockFactory factoryFor(Field mocked, Configuration configuration) {
+        Class<? extends MockFactory> factory = mocked.getAnnotation(Mock.class).factory();
+        return FACTORIES.computeIfAbsent(factory == MockFactory.class ? configuration.mockFactory() : factory, MockFactories::instantiate);
+    }
+
+    private static MockFactory instantiate(Class<?> factory) {
+        if (!MockFactory.class.isAssignableFrom(factory)) {
+            throw new WiringException("%s is not a MockFactory".formatted(factory.getName()));
+        }
+        try {
+            return (MockFactory) factory.getConstructor().newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new WiringException("Unable to instantiate MockFactory %s".formatted(factory.getName()), e);
+        }
+    }
+}
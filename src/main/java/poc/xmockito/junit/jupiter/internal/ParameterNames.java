@@ -0,0 +1,235 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Parameter names of classes compiled without {@code -parameters}, read from the {@code MethodParameters} or
+ * {@code LocalVariableTable} attributes of their class file. Each class is parsed once, its names are kept as long as
+ * the class itself.
+ */
+class ParameterNames {
+    private static final ClassValue<Map<String, String[]>> NAMES = new ClassValue<>() {
+        @Override
+        protected Map<String, String[]> computeValue(Class<?> type) {
+            return read(type);
+        }
+    };
+
+    private ParameterNames() {
+    }
+
+    static String nameOf(Parameter parameter) {
+        if (parameter.isNamePresent()) {
+            return parameter.getName();
+        }
+        Executable executable = parameter.getDeclaringExecutable();
+        String[] names = NAMES.get(executable.getDeclaringClass()).get(signature(executable));
+        int index = Arrays.asList(executable.getParameters()).indexOf(parameter);
+        return names != null && index < names.length && names[index] != null ? names[index] : parameter.getName();
+    }
+
+    private static String signature(Executable executable) {
+        String parameters = stream(executable.getParameterTypes()).map(Class::descriptorString).collect(Collectors.joining());
+        return executable instanceof Method method
+            ? "%s(%s)%s".formatted(method.getName(), parameters, method.getReturnType().descriptorString())
+            : "<init>(%s)V".formatted(parameters);
+    }
+
+    private static Map<String, String[]> read(Class<?> type) {
+        String resource = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+        URL url = type.getResource(resource);
+        if (url == null) {
+            return Map.of();
+        }
+        try {
+            return new ClassFile(bytesOf(url)).parameterNames();
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            // Names are a convenience, a class file that cannot be read leaves the reflective ones
+            return Map.of();
+        }
+    }
+
+    /**
+     * Class files in directories are memory mapped, the ones in archives are read.
+     */
+    private static ByteBuffer bytesOf(URL url) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    private static class ClassFile {
+        private final ByteBuffer bytes;
+        private final String[] utf8;
+
+        ClassFile(ByteBuffer bytes) {
+            this.bytes = bytes;
+            if (bytes.getInt() != 0xCAFEBABE) {
+                throw new IllegalArgumentException("Not a class file");
+            }
+            bytes.position(bytes.position() + 4);
+            this.utf8 = readConstantPool();
+        }
+
+        private String[] readConstantPool() {
+            String[] strings = new String[bytes.getShort() & 0xFFFF];
+            for (int index = 1; index < strings.length; index++) {
+                int tag = bytes.get();
+                switch (tag) {
+                    case 1 -> {
+                        byte[] value = new byte[bytes.getShort() & 0xFFFF];
+                        bytes.get(value);
+                        // Modified UTF-8 only differs from UTF-8 for NUL and supplementary characters
+                        strings[index] = new String(value, StandardCharsets.UTF_8);
+                    }
+                    case 7, 8, 16, 19, 20 -> skip(2);
+                    case 15 -> skip(3);
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> skip(4);
+                    case 5, 6 -> {
+                        skip(8);
+                        index++;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+                }
+            }
+            return strings;
+        }
+
+        Map<String, String[]> parameterNames() {
+            skip(6);
+            skip(2 * u2());
+            int fields = u2();
+            for (int field = 0; field < fields; field++) {
+                skip(6);
+                skipAttributes();
+            }
+
+            Map<String, String[]> names = new HashMap<>();
+            int methods = u2();
+            for (int method = 0; method < methods; method++) {
+                int access = u2();
+                String name = utf8[u2()];
+                String descriptor = utf8[u2()];
+                String[] parameterNames = readMethodAttributes(Modifier.isStatic(access), descriptor);
+                if (parameterNames != null) {
+                    names.put(name + descriptor, parameterNames);
+                }
+            }
+            return names;
+        }
+
+        private String[] readMethodAttributes(boolean isStatic, String descriptor) {
+            int[] slots = parameterSlots(isStatic, descriptor);
+            String[] fromMethodParameters = null;
+            String[] fromLocalVariables = null;
+            int attributes = u2();
+            for (int attribute = 0; attribute < attributes; attribute++) {
+                String name = utf8[u2()];
+                int length = bytes.getInt();
+                int end = bytes.position() + length;
+                if ("MethodParameters".equals(name)) {
+                    fromMethodParameters = new String[bytes.get() & 0xFF];
+                    for (int index = 0; index < fromMethodParameters.length; index++) {
+                        fromMethodParameters[index] = utf8[u2()];
+                        skip(2);
+                    }
+                } else if ("Code".equals(name)) {
+                    fromLocalVariables = readLocalVariables(slots);
+                }
+                bytes.position(end);
+            }
+            // Implicit parameters like the enclosing instance are missing from the local variables of some compilers
+            return fromMethodParameters != null && fromMethodParameters.length == slots.length ? fromMethodParameters : fromLocalVariables;
+        }
+
+        private String[] readLocalVariables(int[] slots) {
+            skip(4);
+            skip(bytes.getInt());
+            skip(8 * u2());
+            String[] names = null;
+            int attributes = u2();
+            for (int attribute = 0; attribute < attributes; attribute++) {
+                String name = utf8[u2()];
+                int length = bytes.getInt();
+                int end = bytes.position() + length;
+                if ("LocalVariableTable".equals(name)) {
+                    names = names == null ? new String[slots.length] : names;
+                    int entries = u2();
+                    for (int entry = 0; entry < entries; entry++) {
+                        int startPc = u2();
+                        skip(2);
+                        String variable = utf8[u2()];
+                        skip(2);
+                        int slot = u2();
+                        int index = Arrays.binarySearch(slots, slot);
+                        if (startPc == 0 && index >= 0) {
+                            names[index] = variable;
+                        }
+                    }
+                }
+                bytes.position(end);
+            }
+            return names;
+        }
+
+        /**
+         * The local variable slots of the parameters, longs and doubles taking two of them.
+         */
+        private static int[] parameterSlots(boolean isStatic, String descriptor) {
+            int[] slots = new int[descriptor.length()];
+            int count = 0;
+            int slot = isStatic ? 0 : 1;
+            for (int position = 1; descriptor.charAt(position) != ')'; position++) {
+                slots[count++] = slot;
+                char type = descriptor.charAt(position);
+                while (type == '[') {
+                    type = descriptor.charAt(++position);
+                }
+                if (type == 'L') {
+                    position = descriptor.indexOf(';', position);
+                }
+                slot += (type == 'J' || type == 'D') && descriptor.charAt(position - 1) != '[' ? 2 : 1;
+            }
+            return Arrays.copyOf(slots, count);
+        }
+
+        private void skipAttributes() {
+            int attributes = u2();
+            for (int attribute = 0; attribute < attributes; attribute++) {
+                skip(2);
+                skip(bytes.getInt());
+            }
+        }
+
+        private int u2() {
+            return bytes.getShort() & 0xFFFF;
+        }
+
+        private void skip(int count) {
+            bytes.position(bytes.position() + count);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The recorded calls of the {@code @Recorded} fields of one test class, one Java serialized table per field. A relative
+ * directory is resolved against the module of the test class, the first directory above its classes with a Maven or
+ * Gradle build file, so recordings end up in the same place whichever directory the build is started from.
+ */
+public class Recordings implements ExtensionContext.Store.CloseableResource {
+    public enum Mode {
+        RECORD,
+        REPLAY,
+        OFF
+    }
+
+    private static final List<String> BUILD_FILES = List.of("pom.xml", "build.gradle", "build.gradle.kts");
+
+    private final Path directory;
+    private final Mode mode;
+    private final Map<Field, Map<Call, Outcome>> recorded = new ConcurrentHashMap<>();
+    private final Map<Field, Map<Call, Outcome>> replayed = new ConcurrentHashMap<>();
+    private final Set<Object> standIns = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    public Recordings(Path directory, Class<?> testClass, Mode mode) {
+        this.directory = (directory.isAbsolute() ? directory : moduleDirectory(testClass).resolve(directory)).resolve(testClass.getName());
+        this.mode = mode;
+    }
+
+    static Path moduleDirectory(Class<?> testClass) {
+        try {
+            CodeSource source = testClass.getProtectionDomain().getCodeSource();
+            for (Path current = source == null ? null : Path.of(source.getLocation().toURI()); current != null; current = current.getParent()) {
+                for (String buildFile : BUILD_FILES) {
+                    if (Files.isRegularFile(current.resolve(buildFile))) {
+                        return current;
+                    }
+                }
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            // Classes loaded from elsewhere than the file system have no module, the working directory stands in
+        }
+        return Path.of("").toAbsolutePath();
+    }
+
+    /**
+     * Wraps the real value in a recording proxy, or replaces it with one answering from its recording.
+     */
+    public Object standIn(Field field, Object real) {
+        // A test instance living through several tests already holds its stand-in
+        if (mode == Mode.OFF || standIns.contains(real)) {
+            return real;
+        }
+        if (!field.getType().isInterface()) {
+            throw new WiringException("%s is recorded but is not an interface".formatted(ReflectionUtils.asString(field)));
+        }
+
+        if (mode == Mode.RECORD) {
+            Map<Call, Outcome> calls = recorded.computeIfAbsent(field, key -> new ConcurrentHashMap<>());
+            return proxy(field, (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return method.invoke(real, args);
+                }
+                Call call = new Call(method.toGenericString(), comparable(args));
+                Outcome outcome;
+                try {
+                    outcome = new Outcome(method.invoke(real, args), null);
+                } catch (InvocationTargetException e) {
+                    outcome = new Outcome(null, e.getCause());
+                }
+                calls.put(checkSerializable(field, method, call, outcome), outcome);
+                if (outcome.thrown() != null) {
+                    throw outcome.thrown();
+                }
+                return outcome.value();
+            });
+        }
+
+        Path file = fileOf(field);
+        if (!Files.isRegularFile(file)) {
+            return real;
+        }
+        Map<Call, Outcome> calls = replayed.computeIfAbsent(field, key -> load(file));
+        String name = field.getName();
+        return proxy(field, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> name;
+                };
+            }
+            Outcome outcome = calls.get(new Call(method.toGenericString(), comparable(args)));
+            if (outcome == null) {
+                throw new IllegalStateException("No recorded call %s%s on %s".formatted(method.getName(), Arrays.deepToString(args), name));
+            }
+            if (outcome.thrown() != null) {
+                throw outcome.thrown();
+            }
+            return outcome.value();
+        });
+    }
+
+    /**
+     * Writes the recorded calls, merged into the ones recorded before.
+     */
+    @Override
+    public void close() {
+        recorded.forEach((field, calls) -> {
+            Path file = fileOf(field);
+            Map<Call, Outcome> merged = Files.isRegularFile(file) ? load(file) : new HashMap<>();
+            merged.putAll(calls);
+            try {
+                Files.createDirectories(directory);
+                try (OutputStream out = Files.newOutputStream(file); ObjectOutputStream objects = new ObjectOutputStream(out)) {
+                    objects.writeObject(merged);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write the recording of %s".formatted(ReflectionUtils.asString(field)), e);
+            }
+        });
+    }
+
+    /**
+     * Fails the call which cannot be written, instead of losing the whole recording when the test class is done.
+     */
+    private static Call checkSerializable(Field field, Method method, Call call, Outcome outcome) {
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            out.writeObject(call);
+            out.writeObject(outcome);
+        } catch (IOException e) {
+            throw new WiringException("Unable to record the call %s of %s, its arguments and outcome must be serializable"
+                .formatted(method.getName(), ReflectionUtils.asString(field)), e);
+        }
+        return call;
+    }
+
+    private Path fileOf(Field field) {
+        return directory.resolve(field.getName() + ".ser");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Call, Outcome> load(Path file) {
+        try (InputStream in = Files.newInputStream(file); ObjectInputStream objects = new ObjectInputStream(in)) {
+            return new HashMap<>((Map<Call, Outcome>) objects.readObject());
+        } catch (IOException | ClassNotFoundException e) {
+            throw new WiringException("Unable to read the recording %s".formatted(file), e);
+        }
+    }
+
+    private Object proxy(Field field, InvocationHandler handler) {
+        ClassLoader classLoader = field.getType().getClassLoader();
+        Object proxy = Proxy.newProxyInstance(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader(), new Class<?>[]{field.getType()}, handler);
+        standIns.add(proxy);
+        return proxy;
+    }
+
+    /**
+     * Arguments compared by value, arrays included.
+     */
+    private static List<Object> comparable(Object[] args) {
+        List<Object> arguments = new ArrayList<>();
+        for (Object arg : args == null ? new Object[0] : args) {
+            arguments.add(comparable(arg));
+        }
+        return arguments;
+    }
+
+    private static Object comparable(Object arg) {
+        if (arg == null || !arg.getClass().isArray()) {
+            return arg;
+        }
+        List<Object> elements = new ArrayList<>();
+        for (int index = 0; index < Array.getLength(arg); index++) {
+            elements.add(comparable(Array.get(arg, index)));
+        }
+        return elements;
+    }
+
+    private record Call(String method, List<Object> arguments) implements Serializable {
+    }
+
+    private record Outcome(Object value, Throwable thrown) implements Serializable {
+    }
+}
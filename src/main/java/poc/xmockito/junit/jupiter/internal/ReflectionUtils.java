@@ -1,7 +1,8 @@
 package poc.xmockito.junit.jupiter.internal;
 
-import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.stream.Collectors;
 
@@ -34,14 +35,15 @@ public class ReflectionUtils {
     }
 
     static String asString(Parameter parameter) {
-        return "Parameter[%s %s]".formatted(parameter.getType().getSimpleName(), parameter.getName());
+        return "Parameter[%s %s]".formatted(parameter.getType().getSimpleName(), ParameterNames.nameOf(parameter));
     }
 
-    static String asString(Constructor<?> constructor) {
-        return "%s(%s)".formatted(
+    static String asString(Executable constructor) {
+        return "%s%s(%s)".formatted(
             constructor.getDeclaringClass().getSimpleName(),
+            constructor instanceof Method factory ? "." + factory.getName() : "",
             stream(constructor.getParameters())
-                .map(it -> "%s %s".formatted(it.getType().getSimpleName(), it.getName()))
+                .map(it -> "%s %s".formatted(it.getType().getSimpleName(), ParameterNames.nameOf(it)))
                 .collect(Collectors.joining(", "))
         );
     }
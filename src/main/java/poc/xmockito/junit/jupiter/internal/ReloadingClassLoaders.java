@@ -0,0 +1,110 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loads the production classes and the test classes through two stacked class loaders, replaced only when classes
+ * in their directories changed. As long as the production classes are unchanged, the mock classes generated for them
+ * and the wiring plans of unchanged test classes stay cached.
+ */
+public class ReloadingClassLoaders implements AutoCloseable {
+    private final ClassLoader parent;
+    private final Layer classes;
+    private final Layer testClasses;
+
+    public ReloadingClassLoaders(ClassLoader parent, List<Path> classDirectories, List<Path> testClassDirectories) {
+        this.parent = parent;
+        this.classes = new Layer(classDirectories);
+        this.testClasses = new Layer(testClassDirectories);
+    }
+
+    public synchronized ClassLoader current() {
+        boolean classesReloaded = classes.reloadIfChanged(parent);
+        if (classesReloaded || testClasses.loader == null) {
+            testClasses.reload(classes.loader);
+        } else {
+            testClasses.reloadIfChanged(classes.loader);
+        }
+        return testClasses.loader;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        testClasses.close();
+        classes.close();
+    }
+
+    private static final class Layer {
+        private final List<Path> directories;
+        private URLClassLoader loader;
+        private Fingerprint loaded;
+
+        Layer(List<Path> directories) {
+            this.directories = directories;
+        }
+
+        boolean reloadIfChanged(ClassLoader parent) {
+            if (loader != null && loaded.equals(Fingerprint.of(directories))) {
+                return false;
+            }
+            reload(parent);
+            return true;
+        }
+
+        void reload(ClassLoader parent) {
+            close();
+            loaded = Fingerprint.of(directories);
+            loader = new URLClassLoader(directories.stream().map(Layer::toUrl).toArray(URL[]::new), parent);
+        }
+
+        void close() {
+            if (loader != null) {
+                try {
+                    loader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private static URL toUrl(Path directory) {
+            try {
+                return directory.toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
+    /**
+     * Changed, added and removed class files all change the number of files or the latest modification time.
+     */
+    private record Fingerprint(long files, long lastModified) {
+        static Fingerprint of(List<Path> directories) {
+            long files = 0;
+            long lastModified = 0;
+            for (Path directory : directories) {
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                try (Stream<Path> paths = Files.walk(directory)) {
+                    for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                        files++;
+                        lastModified = Math.max(lastModified, Files.getLastModifiedTime(path).toMillis());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to scan %s".formatted(directory), e);
+                }
+            }
+            return new Fingerprint(files, lastModified);
+        }
+    }
+}
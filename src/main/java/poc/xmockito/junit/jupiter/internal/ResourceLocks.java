@@ -0,0 +1,221 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Serializes the tests sharing a mutable wired object, for the session. Locks are always taken in the order they were
+ * created in, so tests sharing several objects cannot deadlock, and released by whichever thread ends the test. The
+ * shared objects are only weakly referenced, a lock is dropped once its object is collected.
+ */
+public class ResourceLocks {
+    // Value types only caching their hash code in a non-final field
+    private static final Set<Class<?>> VALUE_TYPES = Set.of(String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+        Float.class, Double.class, BigInteger.class, BigDecimal.class);
+    private static final ClassValue<Boolean> MUTABLE_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return hasMutableState(type, new HashSet<>());
+        }
+    };
+
+    private final Map<Resource, Lock> locks = new HashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final AtomicLong created = new AtomicLong();
+
+    /**
+     * The objects the test shares with other tests, known before it is wired: the mutable values of its static fields,
+     * the classes declaring its wired static fields, whose values are replaced by every test, and the types of its
+     * session scoped instances which may be mutable.
+     */
+    public static Set<Object> sharedBy(Object testInstance, Set<Class<?>> referencedTypes) {
+        WiringPlan plan = WiringPlan.of(testInstance.getClass());
+        List<Field> collected = plan.dependenciesToCollect(referencedTypes);
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Field field : plan.sharedFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                if (mayBeMutable(field.getType())) {
+                    shared.add(field.getType());
+                }
+            } else if (plan.dependenciesToInject().contains(field)) {
+                shared.add(field.getDeclaringClass());
+            } else if (collected.contains(field)) {
+                Object value = ReflectionUtils.extract(testInstance, field);
+                if (value != null && isMutable(value)) {
+                    shared.add(value);
+                }
+            }
+        }
+        return shared;
+    }
+
+    public Held acquire(Collection<Object> shared) {
+        List<Lock> toAcquire = lockingOrder(shared);
+        List<Lock> acquired = new ArrayList<>();
+        try {
+            for (Lock lock : toAcquire) {
+                ForkJoinPool.managedBlock(lock);
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            new Held(acquired).close();
+            Thread.currentThread().interrupt();
+            throw new WiringException("Interrupted while waiting for the wired objects shared with other tests", e);
+        }
+        return new Held(acquired);
+    }
+
+    private synchronized List<Lock> lockingOrder(Collection<Object> shared) {
+        for (Reference<?> stale = collected.poll(); stale != null; stale = collected.poll()) {
+            locks.remove(stale);
+        }
+        List<Lock> ordered = new ArrayList<>();
+        for (Object instance : shared) {
+            if (!isMutable(instance)) {
+                continue;
+            }
+            Lock lock = locks.get(new Resource(instance, null));
+            if (lock == null) {
+                lock = new Lock(created.getAndIncrement());
+                locks.put(new Resource(instance, collected), lock);
+            }
+            if (!ordered.contains(lock)) {
+                ordered.add(lock);
+            }
+        }
+        ordered.sort(Comparator.comparingLong(Lock::order));
+        return ordered;
+    }
+
+    int size() {
+        return locks.size();
+    }
+
+    /**
+     * Mocks record their invocations and stubbings, other objects are mutable unless every object they reach is a
+     * value, only referenced through final fields.
+     */
+    static boolean isMutable(Object instance) {
+        return mockingDetails(instance).isMock() || MUTABLE_TYPES.get(instance.getClass());
+    }
+
+    /**
+     * Any subtype may be assigned to a field of a non-final type, so only final types without mutable state are safe.
+     */
+    static boolean mayBeMutable(Class<?> declaredType) {
+        return !declaredType.isPrimitive() && !VALUE_TYPES.contains(declaredType)
+            && (!Modifier.isFinal(declaredType.getModifiers()) || MUTABLE_TYPES.get(declaredType));
+    }
+
+    private static boolean hasMutableState(Class<?> type, Set<Class<?>> visiting) {
+        if (type.isPrimitive() || VALUE_TYPES.contains(type)) {
+            return false;
+        }
+        if (type.isArray() || Proxy.isProxyClass(type)) {
+            return true;
+        }
+        // A type referencing itself is decided by its other fields
+        if (!visiting.add(type)) {
+            return false;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (!Modifier.isFinal(field.getModifiers()) || !fieldType.isPrimitive() && !VALUE_TYPES.contains(fieldType)
+                    && (!Modifier.isFinal(fieldType.getModifiers()) || hasMutableState(fieldType, visiting))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static class Held implements ExtensionContext.Store.CloseableResource {
+        private final List<Lock> locks;
+        private boolean released;
+
+        private Held(List<Lock> locks) {
+            this.locks = locks;
+        }
+
+        public int size() {
+            return locks.size();
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                for (int index = locks.size() - 1; index >= 0; index--) {
+                    locks.get(index).permit().release();
+                }
+            }
+        }
+    }
+
+    /**
+     * A weakly referenced shared object, equal to the ones referencing the same object as long as it is alive.
+     */
+    private static final class Resource extends WeakReference<Object> {
+        private final int identityHashCode;
+
+        Resource(Object instance, ReferenceQueue<Object> queue) {
+            super(instance, queue);
+            this.identityHashCode = System.identityHashCode(instance);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            Object instance = get();
+            return this == other || other instanceof Resource that && instance != null && instance == that.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return identityHashCode;
+        }
+    }
+
+    private record Lock(long order, Semaphore permit) implements ForkJoinPool.ManagedBlocker {
+        Lock(long order) {
+            this(order, new Semaphore(1, true));
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            permit.acquire();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return permit.tryAcquire();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Executable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Instances of {@code @Instance(scope = SESSION)} fields, shared by every test class building the same constructor
+ * from the same dependencies. Entries are evicted once one of their dependencies is collected. Instances which are no
+ * {@link AutoCloseable} are softly referenced and evicted when memory gets tight as well, closeable ones are kept until
+ * they are evicted or the session ends, so they are always closed.
+ */
+public class SessionInstances implements ExtensionContext.Store.CloseableResource {
+    private final Map<Fingerprint, Entry> instances = new ConcurrentHashMap<>();
+    private final List<Exception> evictionFailures = new CopyOnWriteArrayList<>();
+
+    Object lookup(Fingerprint fingerprint) {
+        evictStale();
+        Entry entry = instances.get(fingerprint);
+        return entry == null ? null : entry.get();
+    }
+
+    /**
+     * Shares the instance unless another one was shared for the same fingerprint in the meantime, which is returned
+     * instead.
+     */
+    Object share(Fingerprint fingerprint, Object instance) {
+        Entry shared = instances.compute(fingerprint, (key, entry) -> entry != null && entry.get() != null ? entry : new Entry(instance));
+        Object winner = shared.get();
+        return winner == null ? instance : winner;
+    }
+
+    /**
+     * Shared instances are initialized once, by the first test using them.
+     */
+    CompletableFuture<Void> initializeOnce(Object instance, Supplier<CompletableFuture<Void>> initialization) {
+        for (Entry entry : instances.values()) {
+            if (entry.get() == instance) {
+                synchronized (entry) {
+                    if (entry.initialization == null) {
+                        entry.initialization = initialization.get();
+                    }
+                    return entry.initialization;
+                }
+            }
+        }
+        return initialization.get();
+    }
+
+    @Override
+    public void close() throws Exception {
+        List<Exception> failures = new ArrayList<>(evictionFailures);
+        for (Entry entry : instances.values()) {
+            close(entry.get(), failures);
+        }
+        instances.clear();
+        evictionFailures.clear();
+        if (!failures.isEmpty()) {
+            Exception failure = failures.get(0);
+            failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    /**
+     * Evicts the entries whose instance or one of whose dependencies was collected. Closing failures are reported
+     * when the session is closed, not to the test which happens to look up an instance.
+     */
+    private void evictStale() {
+        instances.forEach((fingerprint, entry) -> {
+            if ((fingerprint.isStale() || entry.get() == null) && instances.remove(fingerprint, entry)) {
+                close(entry.get(), evictionFailures);
+            }
+        });
+    }
+
+    private static void close(Object instance, List<Exception> failures) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                failures.add(e);
+            }
+        }
+    }
+
+    /**
+     * Identifies a shared instance by its constructor, the keys its parameters resolved to and the resolved values.
+     * Values are compared by equality, any other argument by identity and only weakly referenced, so a fingerprint
+     * does not keep the dependencies of its instance alive.
+     */
+    static final class Fingerprint {
+        private final Executable constructor;
+        private final List<WiringGraph.Edge> edges;
+        private final Object[] arguments;
+        private final int hashCode;
+
+        Fingerprint(Executable constructor, List<WiringGraph.Edge> edges, Object[] arguments) {
+            this.constructor = constructor;
+            this.edges = edges;
+            this.arguments = Arrays.stream(arguments)
+                .map(argument -> argument == null || isValue(argument) ? argument : new Argument(argument))
+                .toArray();
+            this.hashCode = Objects.hash(constructor, edges, Arrays.hashCode(this.arguments));
+        }
+
+        boolean isStale() {
+            return Arrays.stream(arguments).anyMatch(argument -> argument instanceof Argument weak && weak.get() == null);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint that && hashCode == that.hashCode && constructor.equals(that.constructor)
+                && edges.equals(that.edges) && Arrays.equals(arguments, that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static boolean isValue(Object argument) {
+            return argument instanceof String || argument instanceof Number || argument instanceof Boolean
+                || argument instanceof Character || argument instanceof Enum<?> || argument instanceof Class<?>;
+        }
+    }
+
+    /**
+     * A weakly referenced argument, equal to the arguments referencing the same object as long as it is alive.
+     */
+    private static final class Argument extends WeakReference<Object> {
+        private final int identityHashCode;
+
+        Argument(Object argument) {
+            super(argument);
+            this.identityHashCode = System.identityHashCode(argument);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            Object argument = get();
+            return other instanceof Argument that && argument != null && argument == that.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return identityHashCode;
+        }
+    }
+
+    private static class Entry {
+        private final Object closeable;
+        private final SoftReference<Object> instance;
+        private CompletableFuture<Void> initialization;
+
+        Entry(Object instance) {
+            this.closeable = instance instanceof AutoCloseable ? instance : null;
+            this.instance = new SoftReference<>(instance);
+        }
+
+        Object get() {
+            return closeable != null ? closeable : instance.get();
+        }
+    }
+}
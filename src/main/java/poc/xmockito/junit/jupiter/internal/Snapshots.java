@@ -0,0 +1,87 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized snapshots of {@code @Instance(snapshot = true)} fields. Wired dependencies reachable from a snapshotted
+ * instance are stored as references by type and name, and are bound to the current test's dependencies on restore.
+ */
+public class Snapshots {
+    private final Map<Field, byte[]> snapshots = new ConcurrentHashMap<>();
+
+    boolean contains(Field field) {
+        return snapshots.containsKey(field);
+    }
+
+    void capture(Field field, Object instance, WiringContext context) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ReferencingOutputStream(bytes, instance, context.wiredInstances())) {
+            out.writeObject(instance);
+        } catch (IOException e) {
+            throw new WiringException("Unable to snapshot %s".formatted(ReflectionUtils.asString(field)), e);
+        }
+        snapshots.put(field, bytes.toByteArray());
+    }
+
+    Object restore(Field field, WiringContext context) {
+        try (ObjectInputStream in = new ResolvingInputStream(new ByteArrayInputStream(snapshots.get(field)), context)) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new WiringException("Unable to restore %s".formatted(ReflectionUtils.asString(field)), e);
+        }
+    }
+
+    private record Reference(Class<?> type, String name) implements Serializable {
+    }
+
+    private static class ReferencingOutputStream extends ObjectOutputStream {
+        private final Object root;
+        private final Map<Object, WiringGraph.Key> wired;
+
+        ReferencingOutputStream(OutputStream out, Object root, Map<Object, WiringGraph.Key> wired) throws IOException {
+            super(out);
+            this.root = root;
+            this.wired = wired;
+            enableReplaceObject(true);
+        }
+
+        /**
+         * Values are written as they are, an interned string or a cached box being identical to a wired one is
+         * no reference to it.
+         */
+        @Override
+        protected Object replaceObject(Object obj) {
+            WiringGraph.Key key = obj == root || isValue(obj) ? null : wired.get(obj);
+            return key == null ? obj : new Reference(key.type(), key.name());
+        }
+
+        private static boolean isValue(Object obj) {
+            return obj instanceof String || obj instanceof Number || obj instanceof Boolean || obj instanceof Character || obj instanceof Enum<?>;
+        }
+    }
+
+    private static class ResolvingInputStream extends ObjectInputStream {
+        private final WiringContext context;
+
+        ResolvingInputStream(InputStream in, WiringContext context) throws IOException {
+            super(in);
+            this.context = context;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            return obj instanceof Reference reference ? context.lookup(reference.type(), reference.name()) : obj;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.mockito.ArgumentMatcher;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.invocation.MatchableInvocation;
+import org.mockito.stubbing.Answer;
+import org.mockito.stubbing.Stubbing;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * The stubbings of the {@code @StubTemplate} methods of a test class, recorded from the mocks of its first test and
+ * answered by the mocks of the later ones without going through the stubbing API again. Only answers which keep no
+ * state and capture no test instance are recorded, every test walks through consecutive answers on its own. The
+ * returned values and thrown exceptions are the very objects the template stubbed, shared by every test of the class.
+ * The Mockito internals this takes are confined to {@link StubbingAnswers}.
+ */
+public class StubTemplates {
+    private final Set<Class<?>> recorded = ConcurrentHashMap.newKeySet();
+    private final Map<Field, List<RecordedStubbing>> stubbings = new ConcurrentHashMap<>();
+
+    public boolean isRecorded(Class<?> testClass) {
+        return recorded.contains(testClass);
+    }
+
+    public Answer<Object> answerFor(Field mocked) {
+        List<RecordedStubbing> recordedStubbings = stubbings.get(mocked);
+        return recordedStubbings == null ? null : new TemplateAnswer(recordedStubbings, new AtomicIntegerArray(recordedStubbings.size()));
+    }
+
+    public void record(Object testInstance, List<Method> templates, Map<Field, Object> mocks) {
+        for (Method template : templates) {
+            try {
+                template.setAccessible(true);
+                template.invoke(testInstance);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new WiringException("Unable to run stub template %s".formatted(template), e instanceof InvocationTargetException ? e.getCause() : e);
+            }
+        }
+        mocks.forEach((field, mock) -> {
+            if (mockingDetails(mock).isMock() && !mockingDetails(mock).getStubbings().isEmpty()) {
+                stubbings.put(field, mockingDetails(mock).getStubbings().stream()
+                    .map(stubbing -> new RecordedStubbing(stubbing.getInvocation().getMethod(), ((MatchableInvocation) stubbing).getMatchers(), answersOf(field, stubbing)))
+                    .toList());
+            }
+        });
+        recorded.add(testInstance.getClass());
+    }
+
+    /**
+     * Copies the consecutive answers of the stubbing, before the first test uses any of them up.
+     */
+    private static List<Answer<?>> answersOf(Field mocked, Stubbing stubbing) {
+        List<Answer<?>> answers = StubbingAnswers.answersOf(stubbing);
+        for (Answer<?> answer : answers) {
+            if (!StubbingAnswers.isReplayable(answer)) {
+                throw new WiringException("Stub template answers %s of %s with %s, only returned values, thrown exceptions and real method calls are replayed by later tests"
+                    .formatted(stubbing.getInvocation(), ReflectionUtils.asString(mocked), answer.getClass().getName()));
+            }
+        }
+        return answers;
+    }
+
+    private record RecordedStubbing(Method method, List<ArgumentMatcher> matchers, List<Answer<?>> answers) {
+        @SuppressWarnings("unchecked")
+        boolean matches(InvocationOnMock invocation) {
+            Object[] arguments = invocation.getArguments();
+            if (!method.equals(invocation.getMethod()) || matchers.size() != arguments.length) {
+                return false;
+            }
+            for (int index = 0; index < arguments.length; index++) {
+                if (!matchers.get(index).matches(arguments[index])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Answers like the recorded stubbings, the most recent matching one first, and with Mockito's defaults otherwise.
+     * Consecutive answers are used up per mock, the last one is repeated.
+     */
+    private record TemplateAnswer(List<RecordedStubbing> stubbings, AtomicIntegerArray used) implements Answer<Object> {
+        @Override
+        public Object answer(InvocationOnMock invocation) throws Throwable {
+            for (int index = stubbings.size() - 1; index >= 0; index--) {
+                RecordedStubbing stubbing = stubbings.get(index);
+                if (stubbing.matches(invocation)) {
+                    int last = stubbing.answers().size() - 1;
+                    return stubbing.answers().get(used.getAndUpdate(index, next -> Math.min(next + 1, last))).answer(invocation);
+                }
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+        }
+    }
+}
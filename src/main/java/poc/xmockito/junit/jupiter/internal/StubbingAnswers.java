@@ -0,0 +1,110 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.mockito.stubbing.Stubbing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Manifest;
+
+/**
+ * The only code reaching into Mockito's internals, for stub templates: the consecutive answers of a stubbing, read
+ * from its private {@code answers} field, and the internal answer types which keep no state. Both are checked against
+ * the Mockito version when first used, so an unsupported version fails with a message naming it rather than with a
+ * reflection error.
+ */
+final class StubbingAnswers {
+    static final int SUPPORTED_MAJOR_VERSION = 5;
+    private static final String VERSION = mockitoVersion();
+    private static final List<String> REPLAYABLE_ANSWERS = List.of(
+        "org.mockito.internal.stubbing.answers.Returns",
+        "org.mockito.internal.stubbing.answers.AbstractThrowsException",
+        "org.mockito.internal.stubbing.answers.CallsRealMethods",
+        "org.mockito.internal.stubbing.answers.DoesNothing",
+        "org.mockito.internal.stubbing.answers.ReturnsArgumentAt");
+
+    private static Set<Class<?>> replayableAnswers;
+
+    private StubbingAnswers() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Answer<?>> answersOf(Stubbing stubbing) {
+        checkVersion();
+        try {
+            Field queue = stubbing.getClass().getDeclaredField("answers");
+            queue.setAccessible(true);
+            return List.copyOf((Collection<Answer<?>>) queue.get(stubbing));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw unsupported("read the answers of %s".formatted(stubbing), e);
+        }
+    }
+
+    static boolean isReplayable(Answer<?> answer) {
+        return replayableAnswers().stream().anyMatch(type -> type.isInstance(answer));
+    }
+
+    private static synchronized Set<Class<?>> replayableAnswers() {
+        if (replayableAnswers == null) {
+            checkVersion();
+            try {
+                ClassLoader loader = Mockito.class.getClassLoader();
+                Set<Class<?>> types = new HashSet<>();
+                for (String name : REPLAYABLE_ANSWERS) {
+                    types.add(Class.forName(name, false, loader));
+                }
+                replayableAnswers = Set.copyOf(types);
+            } catch (ClassNotFoundException e) {
+                throw unsupported("find the answer types %s".formatted(String.join(", ", REPLAYABLE_ANSWERS)), e);
+            }
+        }
+        return replayableAnswers;
+    }
+
+    private static void checkVersion() {
+        int major = VERSION.indexOf('.') < 0 ? -1 : parseOrMinusOne(VERSION.substring(0, VERSION.indexOf('.')));
+        if (major != -1 && major != SUPPORTED_MAJOR_VERSION) {
+            throw new WiringException("Stub templates support Mockito %d.x only, found Mockito %s".formatted(SUPPORTED_MAJOR_VERSION, VERSION));
+        }
+    }
+
+    private static WiringException unsupported(String what, Exception cause) {
+        return new WiringException("Unable to %s with Mockito %s, stub templates support Mockito %d.x".formatted(what, VERSION, SUPPORTED_MAJOR_VERSION), cause);
+    }
+
+    /**
+     * The version in the manifest of the Mockito jar, which has no implementation version but a bundle one.
+     */
+    static String mockitoVersion() {
+        String version = Mockito.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        CodeSource source = Mockito.class.getProtectionDomain().getCodeSource();
+        if (source == null || !source.getLocation().getPath().endsWith(".jar")) {
+            return "unknown";
+        }
+        try (InputStream in = new URL("jar:" + source.getLocation() + "!/META-INF/MANIFEST.MF").openStream()) {
+            String bundleVersion = new Manifest(in).getMainAttributes().getValue("Bundle-Version");
+            return bundleVersion == null ? "unknown" : bundleVersion;
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private static int parseOrMinusOne(String number) {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
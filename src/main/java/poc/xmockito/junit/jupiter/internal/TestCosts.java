@@ -0,0 +1,110 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * One {@code <test class>.properties} file per test class, with the time spent wiring its tests and running them.
+ */
+public class TestCosts {
+    private static final String SUFFIX = ".properties";
+    private static final String TESTS = "tests";
+    private static final String SETUP_NANOS = "setupNanos";
+    private static final String EXECUTION_NANOS = "executionNanos";
+
+    private TestCosts() {
+    }
+
+    /**
+     * The total cost of every recorded class, nested classes adding up to their top level class.
+     */
+    public static Map<String, Long> costsByTestClass(Path directory) {
+        Map<String, Long> costs = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return costs;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(it -> it.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String fileName = file.getFileName().toString();
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file)) {
+                    properties.load(reader);
+                }
+                long cost = Long.parseLong(properties.getProperty(SETUP_NANOS, "0")) + Long.parseLong(properties.getProperty(EXECUTION_NANOS, "0"));
+                costs.merge(TestImpact.topLevelName(fileName.substring(0, fileName.length() - SUFFIX.length())), cost, Long::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the test costs from %s".formatted(directory), e);
+        }
+        return costs;
+    }
+
+    /**
+     * Assigns the classes to shards, most expensive first, each to the currently cheapest shard. Ties are broken by
+     * name, so every shard computes the same assignment.
+     */
+    public static Map<String, Integer> partition(Map<String, Long> costs, int shards) {
+        List<Map.Entry<String, Long>> mostExpensiveFirst = new ArrayList<>(costs.entrySet());
+        mostExpensiveFirst.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+
+        long[] shardCosts = new long[shards];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (Map.Entry<String, Long> testClass : mostExpensiveFirst) {
+            int cheapest = 0;
+            for (int shard = 1; shard < shards; shard++) {
+                if (shardCosts[shard] < shardCosts[cheapest]) {
+                    cheapest = shard;
+                }
+            }
+            shardCosts[cheapest] += testClass.getValue();
+            assignment.put(testClass.getKey(), cheapest);
+        }
+        return assignment;
+    }
+
+    /**
+     * Accumulates the costs of the tests of one class and writes them when the class is done.
+     */
+    public static class Recorder implements ExtensionContext.Store.CloseableResource {
+        private final Path directory;
+        private final String testClass;
+        private final LongAdder tests = new LongAdder();
+        private final LongAdder setupNanos = new LongAdder();
+        private final LongAdder executionNanos = new LongAdder();
+
+        public Recorder(Path directory, String testClass) {
+            this.directory = directory;
+            this.testClass = testClass;
+        }
+
+        public void record(long setupNanos, long executionNanos) {
+            this.tests.increment();
+            this.setupNanos.add(setupNanos);
+            this.executionNanos.add(executionNanos);
+        }
+
+        @Override
+        public void close() {
+            try {
+                Files.createDirectories(directory);
+                Files.writeString(directory.resolve(testClass + SUFFIX), "%s=%d%n%s=%d%n%s=%d%n".formatted(
+                    TESTS, tests.sum(), SETUP_NANOS, setupNanos.sum(), EXECUTION_NANOS, executionNanos.sum()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to record the test costs of %s".formatted(testClass), e);
+            }
+        }
+    }
+}
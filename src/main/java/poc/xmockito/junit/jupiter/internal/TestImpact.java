@@ -0,0 +1,99 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One {@code <test class>.properties} file per test class, listing the classes its wiring constructs, the classes of
+ * the real objects it is given and the classes it mocks.
+ */
+public class TestImpact {
+    private static final String SUFFIX = ".properties";
+    private static final String CONSTRUCTED = "constructed";
+    private static final String PREDEFINED = "predefined";
+    private static final String MOCKED = "mocked";
+
+    private TestImpact() {
+    }
+
+    public static void record(Path directory, String testClass, Set<Class<?>> constructed, Set<Class<?>> predefined, Set<Class<?>> mocked) {
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(testClass + SUFFIX), "%s=%s%n%s=%s%n%s=%s%n"
+                .formatted(CONSTRUCTED, names(constructed), PREDEFINED, names(predefined), MOCKED, names(mocked)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to record the test impact of %s".formatted(testClass), e);
+        }
+    }
+
+    /**
+     * The constructed and predefined classes of every recorded test class, the real code it runs. An absent directory
+     * means nothing was recorded.
+     */
+    public static Map<String, Set<String>> wiredTypesByTestClass(Path directory) {
+        Map<String, Set<String>> wiredTypes = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return wiredTypes;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(it -> it.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String fileName = file.getFileName().toString();
+                wiredTypes.put(fileName.substring(0, fileName.length() - SUFFIX.length()), load(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the test impact from %s".formatted(directory), e);
+        }
+        return wiredTypes;
+    }
+
+    /**
+     * The class of a test or test class source, other sources belong to no test class.
+     */
+    public static Optional<String> testClassName(TestSource source) {
+        if (source instanceof MethodSource method) {
+            return Optional.of(method.getClassName());
+        }
+        if (source instanceof ClassSource type) {
+            return Optional.of(type.getClassName());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Nested and inner classes are part of their top level class, as far as changes are concerned.
+     */
+    public static String topLevelName(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static Set<String> load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return Stream.of(CONSTRUCTED, PREDEFINED)
+            .flatMap(key -> Arrays.stream(properties.getProperty(key, "").split(",")))
+            .filter(it -> !it.isEmpty())
+            .collect(Collectors.toSet());
+    }
+
+    private static String names(Set<Class<?>> types) {
+        return types.stream().map(Class::getName).sorted().collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,115 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import poc.xmockito.junit.jupiter.Wiring;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static poc.xmockito.junit.jupiter.internal.ReflectionUtils.inject;
+
+public class TestWiring implements Wiring {
+    private final List<Layer> layers = new ArrayList<>();
+    private final Snapshots snapshots;
+    private final SessionInstances sessionInstances;
+    private final Duration constructionTimeout;
+
+    public TestWiring() {
+        this(new Snapshots(), new SessionInstances(), Duration.ZERO);
+    }
+
+    public TestWiring(Snapshots snapshots, SessionInstances sessionInstances, Duration constructionTimeout) {
+        this.snapshots = snapshots;
+        this.sessionInstances = sessionInstances;
+        this.constructionTimeout = constructionTimeout;
+    }
+
+    public WiringEngine addLayer(Object testInstance) {
+        WiringEngine engine = layers.isEmpty() ? new WiringEngine(snapshots, sessionInstances, constructionTimeout) : new WiringEngine(innermost());
+        layers.add(new Layer(engine, testInstance));
+        return engine;
+    }
+
+    public void awaitInitialization() {
+        layers.forEach(layer -> layer.engine().awaitInitialization());
+    }
+
+    public WiringEngine innermost() {
+        return layers.get(layers.size() - 1).engine();
+    }
+
+    public Set<Class<?>> constructedTypes() {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        layers.forEach(layer -> types.addAll(layer.engine().constructedTypes()));
+        return types;
+    }
+
+    public Set<Class<?>> predefinedTypes() {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        layers.forEach(layer -> types.addAll(layer.engine().predefinedTypes()));
+        return types;
+    }
+
+    public Set<Class<?>> mockedTypes() {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        layers.forEach(layer -> types.addAll(layer.engine().mockedTypes()));
+        return types;
+    }
+
+    public void clear() {
+        layers.forEach(layer -> layer.engine().clear());
+    }
+
+    /**
+     * Closes the wired instances of the innermost level first, as instances of inner levels may depend on outer ones.
+     */
+    public void close() {
+        WiringException failure = null;
+        for (int index = layers.size() - 1; index >= 0; index--) {
+            try {
+                layers.get(index).engine().closeInstances();
+            } catch (WiringException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public <T> void replace(Class<T> type, String name, T value) {
+        WiringGraph.Key key = new WiringGraph.Key(type, name);
+
+        int owner = layers.size() - 1;
+        while (owner >= 0 && !layers.get(owner).engine().isLocallyDefinedBy(key)) {
+            owner--;
+        }
+        if (owner < 0) {
+            throw new WiringException("No wired dependency %s to replace".formatted(key));
+        }
+
+        Set<WiringGraph.Key> rebuilt = layers.get(owner).engine().replace(key, value);
+        for (int inner = owner + 1; inner < layers.size(); inner++) {
+            rebuilt.addAll(layers.get(inner).engine().rebuildDependentsOf(rebuilt));
+        }
+        for (Layer layer : layers.subList(owner, layers.size())) {
+            for (Field field : WiringPlan.of(layer.testInstance().getClass()).fieldsMatching(rebuilt)) {
+                inject(layer.testInstance(), field, layer.engine().lookup(field.getType(), field.getName()));
+            }
+        }
+        for (Layer layer : layers.subList(owner, layers.size())) {
+            layer.engine().awaitInitialization();
+        }
+    }
+
+    private record Layer(WiringEngine engine, Object testInstance) {
+    }
+}
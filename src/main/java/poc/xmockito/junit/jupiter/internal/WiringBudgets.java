@@ -0,0 +1,131 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import poc.xmockito.junit.jupiter.WiringBudget;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class WiringBudgets {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private WiringBudgets() {
+    }
+
+    /**
+     * The budget of the test class, the values of the nearest annotated class among the enclosing ones taking
+     * precedence over the suite wide defaults.
+     */
+    public static Optional<Budget> budgetFor(Class<?> testClass, Configuration configuration) {
+        long maxMillis = configuration.budgetMaxMillis();
+        long maxAllocatedBytes = configuration.budgetMaxAllocatedBytes();
+        for (Class<?> type = testClass; type != null; type = type.getEnclosingClass()) {
+            Optional<WiringBudget> budget = AnnotationSupport.findAnnotation(type, WiringBudget.class);
+            if (budget.isPresent()) {
+                maxMillis = budget.get().maxMillis() >= 0 ? budget.get().maxMillis() : maxMillis;
+                maxAllocatedBytes = budget.get().maxAllocatedBytes() >= 0 ? budget.get().maxAllocatedBytes() : maxAllocatedBytes;
+                break;
+            }
+        }
+        return maxMillis < 0 && maxAllocatedBytes < 0 ? Optional.empty() : Optional.of(new Budget(maxMillis, maxAllocatedBytes));
+    }
+
+    /**
+     * The bytes allocated by the current thread so far, or -1 when the JVM does not tell. Mocks created and
+     * initializers run on other threads are not accounted for.
+     */
+    public static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    public record Budget(long maxMillis, long maxAllocatedBytes) {
+        boolean isExceededBy(long nanos, long allocatedBytes) {
+            return maxMillis >= 0 && nanos > maxMillis * 1_000_000
+                || maxAllocatedBytes >= 0 && allocatedBytes > maxAllocatedBytes;
+        }
+    }
+
+    /**
+     * Checks the wiring of the tests of one class against its budget and writes the results as
+     * {@code <test class>.json} when the class is done.
+     */
+    public static class Report implements ExtensionContext.Store.CloseableResource {
+        private final Path directory;
+        private final String testClass;
+        private final Budget budget;
+        private final boolean failOnExceeded;
+        private final List<Result> results = new CopyOnWriteArrayList<>();
+
+        public Report(Path directory, String testClass, Budget budget, boolean failOnExceeded) {
+            this.directory = directory;
+            this.testClass = testClass;
+            this.budget = budget;
+            this.failOnExceeded = failOnExceeded;
+        }
+
+        /**
+         * Fails the test exceeding its budget, or returns the warning to report for it unless told to fail.
+         */
+        public Optional<String> check(String test, long nanos, long allocatedBytes) {
+            boolean exceeded = budget.isExceededBy(nanos, allocatedBytes);
+            results.add(new Result(test, nanos, allocatedBytes, exceeded));
+            if (!exceeded) {
+                return Optional.empty();
+            }
+
+            String message = "Wiring %s of %s took %s ms and allocated %d bytes, exceeding its budget of %d ms and %d bytes".formatted(
+                test, testClass, millis(nanos), allocatedBytes, budget.maxMillis(), budget.maxAllocatedBytes());
+            if (failOnExceeded) {
+                throw new WiringException(message);
+            }
+            return Optional.of(message);
+        }
+
+        @Override
+        public void close() {
+            String tests = results.stream()
+                .map(result -> "    {\"test\": %s, \"millis\": %s, \"allocatedBytes\": %d, \"exceeded\": %s}".formatted(
+                    jsonString(result.test()), millis(result.nanos()), result.allocatedBytes(), result.exceeded()))
+                .collect(Collectors.joining("," + System.lineSeparator()));
+            String json = String.join(System.lineSeparator(),
+                "{",
+                "  \"testClass\": %s,".formatted(jsonString(testClass)),
+                "  \"maxMillis\": %d,".formatted(budget.maxMillis()),
+                "  \"maxAllocatedBytes\": %d,".formatted(budget.maxAllocatedBytes()),
+                "  \"tests\": [",
+                tests,
+                "  ]",
+                "}") + System.lineSeparator();
+            try {
+                Files.createDirectories(directory);
+                Files.writeString(directory.resolve(testClass + ".json"), json);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write the wiring budget report of %s".formatted(testClass), e);
+            }
+        }
+
+        private record Result(String test, long nanos, long allocatedBytes, boolean exceeded) {
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String jsonString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -2,7 +2,9 @@ package poc.xmockito.junit.jupiter.internal;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,26 +23,65 @@ class WiringContext {
         }
     };
     private final Map<Type, Map<String, Object>> typeToNamedInstances = new LinkedHashMap<>();
+    private final WiringContext parent;
+
+    WiringContext() {
+        this(null);
+    }
+
+    WiringContext(WiringContext parent) {
+        this.parent = parent;
+    }
 
     void clear() {
         typeToNamedInstances.clear();
     }
 
     void register(Field field, Object instance) {
-        typeToNamedInstances.putIfAbsent(field.getType(), new LinkedHashMap<>());
-        typeToNamedInstances.get(field.getType()).put(field.getName(), wrapNullAsDefinedNull(instance));
+        register(field.getType(), field.getName(), instance);
+    }
+
+    void register(Class<?> type, String name, Object instance) {
+        typeToNamedInstances.putIfAbsent(type, new LinkedHashMap<>());
+        typeToNamedInstances.get(type).put(name, wrapNullAsDefinedNull(instance));
+    }
+
+    boolean isLocallyDefinedBy(Class<?> type, String name) {
+        return typeToNamedInstances.containsKey(type) && typeToNamedInstances.get(type).containsKey(name);
     }
 
     Object lookup(Class<?> type, String name) {
-        return unwrapDefinedNullToNull(typeToNamedInstances.get(type).get(name));
+        Map<String, Object> namedInstances = typeToNamedInstances.get(type);
+        if (namedInstances != null && namedInstances.containsKey(name)) {
+            return unwrapDefinedNullToNull(namedInstances.get(name));
+        }
+        return parent.lookup(type, name);
     }
 
     Object lookup(Class<?> type) {
-        return unwrapDefinedNullToNull(typeToNamedInstances.get(type).values().iterator().next());
+        return lookup(type, lookupNameFor(type));
+    }
+
+    String lookupNameFor(Class<?> type) {
+        return lookupNamesFor(type).iterator().next();
     }
 
     Set<String> lookupNamesFor(Class<?> type) {
-        return typeToNamedInstances.get(type).keySet();
+        Set<String> names = new LinkedHashSet<>(typeToNamedInstances.getOrDefault(type, Map.of()).keySet());
+        if (parent != null) {
+            names.addAll(parent.lookupNamesFor(type));
+        }
+        return names;
+    }
+
+    Map<Object, WiringGraph.Key> wiredInstances() {
+        Map<Object, WiringGraph.Key> wired = parent == null ? new IdentityHashMap<>() : parent.wiredInstances();
+        typeToNamedInstances.forEach((type, namedInstances) -> namedInstances.forEach((name, instance) -> {
+            if (instance != DEFINED_NULL) {
+                wired.put(instance, new WiringGraph.Key((Class<?>) type, name));
+            }
+        }));
+        return wired;
     }
 
     public ParameterDefinition parameterDefinition(Class<?> type, String name) {
@@ -56,14 +97,14 @@ class WiringContext {
     }
 
     private boolean isUniquelyDefinedBy(Class<?> type, String name) {
-        return typeToNamedInstances.containsKey(type) && typeToNamedInstances.get(type).containsKey(name);
+        return isLocallyDefinedBy(type, name) || parent != null && parent.isUniquelyDefinedBy(type, name);
     }
     private boolean isUniquelyDefinedBy(Class<?> type) {
-        return typeToNamedInstances.containsKey(type) && typeToNamedInstances.get(type).values().size() == 1;
+        return lookupNamesFor(type).size() == 1;
     }
 
     private boolean isNonUniquelyDefinedByType(Class<?> type) {
-        return typeToNamedInstances.containsKey(type) && typeToNamedInstances.get(type).values().size() > 1;
+        return lookupNamesFor(type).size() > 1;
     }
 
     private static Object wrapNullAsDefinedNull(Object instance) {
@@ -1,32 +1,131 @@
 package poc.xmockito.junit.jupiter.internal;
 
+import poc.xmockito.junit.jupiter.Fake;
 import poc.xmockito.junit.jupiter.Instance;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.stream;
+import static org.mockito.Mockito.mockingDetails;
 import static poc.xmockito.junit.jupiter.internal.MultipleParametersResult.combine;
 import static poc.xmockito.junit.jupiter.internal.SingleParameterResolution.resolved;
 import static poc.xmockito.junit.jupiter.internal.SingleParameterResolution.unresolved;
 
 public class WiringEngine {
-    private final WiringContext context = new WiringContext();
+    public static final Object PLANNED = new Object() {
+        @Override
+        public String toString() {
+            return "PLANNED";
+        }
+    };
+
+    private static final Set<String> DEFAULT_FACTORY_NAMES = Set.of("of", "create", "newInstance");
+    private static final ClassValue<Map<Method, MethodHandle>> FACTORY_INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final AtomicInteger INITIALIZERS = new AtomicInteger();
+    private static final ExecutorService INITIALIZATION = Executors.newCachedThreadPool(task -> {
+        Thread initializer = new Thread(task, "xmockito-initializer-" + INITIALIZERS.incrementAndGet());
+        initializer.setDaemon(true);
+        return initializer;
+    });
+
+    private final WiringEngine parent;
+    private final WiringContext context;
+    private final Snapshots snapshots;
+    private final SessionInstances sessionInstances;
+    private final Duration constructionTimeout;
+    private final WiringGraph graph = new WiringGraph();
+    private final List<Object> superseded = new ArrayList<>();
+    private final Map<WiringGraph.Key, CompletableFuture<Void>> initializations = new LinkedHashMap<>();
+    private List<Field> pending = List.of();
+    private List<Field> unwired = List.of();
+
+    public WiringEngine() {
+        this(new Snapshots(), new SessionInstances(), Duration.ZERO);
+    }
+
+    /**
+     * A positive construction timeout runs every constructor and factory on a watched worker thread, failing the
+     * wiring with a dump of that thread once it takes longer.
+     */
+    public WiringEngine(Snapshots snapshots, SessionInstances sessionInstances, Duration constructionTimeout) {
+        this.parent = null;
+        this.context = new WiringContext();
+        this.snapshots = snapshots;
+        this.sessionInstances = sessionInstances;
+        this.constructionTimeout = constructionTimeout;
+    }
+
+    public WiringEngine(WiringEngine parent) {
+        this.parent = parent;
+        this.context = new WiringContext(parent.context);
+        this.snapshots = parent.snapshots;
+        this.sessionInstances = parent.sessionInstances;
+        this.constructionTimeout = parent.constructionTimeout;
+    }
 
     public void clear() {
         context.clear();
+        graph.clear();
+        superseded.clear();
+        initializations.clear();
     }
 
     public void register(Field predefined, Object extract) {
         context.register(predefined, extract);
+        graph.add(predefined, WiringGraph.NodeKind.PREDEFINED);
+    }
+
+    public void registerMock(Field mocked, Object mock) {
+        context.register(mocked, mock);
+        graph.add(mocked, WiringGraph.NodeKind.MOCK);
     }
 
     public Object lookup(Class<?> type, String name) {
@@ -34,48 +133,437 @@ public class WiringEngine {
     }
 
     public void wireInstances(List<Field> fields) {
+        wireInstances(fields, this::instantiate);
+    }
+
+    /**
+     * Resolves the instances like {@link #wireInstances(List)} does, without calling any constructor.
+     */
+    public void validateInstances(List<Field> fields) {
+        wireInstances(fields, this::plan);
+    }
+
+    /**
+     * Instances with members whose candidate is still to be wired wait for it. Once nothing else can be wired, they
+     * are created with those members left unset. Outer instances shadowed by a field of this level are never
+     * resolved, dependents wait for the local instance instead.
+     */
+    private void wireInstances(List<Field> fields, Function<Field, InstantiationResult> instantiation) {
         LinkedList<Field> fieldsToInstantiate = new LinkedList<>(fields);
+        try {
+            unwired = fieldsToInstantiate;
+            try {
+                pending = fieldsToInstantiate;
+                wireWhileProgressing(fieldsToInstantiate, instantiation);
+            } finally {
+                pending = List.of();
+            }
+            wireWhileProgressing(fieldsToInstantiate, instantiation);
 
+            if (fieldsToInstantiate.size() > 0) {
+                throw new WiringException(
+                    fieldsToInstantiate.stream()
+                        .map(instantiation)
+                        .filter(result -> result instanceof InstanceCreationFailed)
+                        .map(result -> (InstanceCreationFailed) result)
+                        .map(InstanceCreationFailed::message).
+                        collect(Collectors.joining(System.lineSeparator()))
+                );
+            }
+        } finally {
+            unwired = List.of();
+        }
+    }
+
+    private void wireWhileProgressing(LinkedList<Field> fieldsToInstantiate, Function<Field, InstantiationResult> instantiation) {
         int size;
         do {
             size = fieldsToInstantiate.size();
             for (Iterator<Field> iterator = fieldsToInstantiate.iterator(); iterator.hasNext(); ) {
                 Field field = iterator.next();
 
-                InstantiationResult instantiate = this.instantiate(field);
+                InstantiationResult instantiate = instantiation.apply(field);
                 if (instantiate instanceof InstanceCreated created) {
-                    this.register(field, created.instance());
+                    this.register(field, created);
                     iterator.remove();
                 }
 
             }
         } while (size > fieldsToInstantiate.size());
+    }
+
+    void register(Field field, InstanceCreated created) {
+        context.register(field, created.instance());
+        WiringGraph.NodeKind kind = field.isAnnotationPresent(Fake.class) ? WiringGraph.NodeKind.FAKE
+            : isShared(field, created.edges()) ? WiringGraph.NodeKind.SHARED
+            : WiringGraph.NodeKind.INSTANCE;
+        graph.addInstance(field, kind, created.constructor(), created.edges(), created.constructionNanos());
+        if (created.instance() != PLANNED) {
+            initializations.put(WiringGraph.Key.of(field), kind == WiringGraph.NodeKind.SHARED
+                ? sessionInstances.initializeOnce(created.instance(), () -> initialize(field, created))
+                : initialize(field, created));
+        }
+    }
+
+    /**
+     * Starts the initializer of the instance once the ones of its dependencies have completed, instances without an
+     * initializer complete along with their dependencies. Initializers run on their own daemon threads, a blocking one
+     * cannot starve the common pool.
+     */
+    private CompletableFuture<Void> initialize(Field field, InstanceCreated created) {
+        CompletableFuture<Void> dependencies = CompletableFuture.allOf(created.edges().stream()
+            .map(edge -> initializationOf(edge.target()))
+            .toArray(CompletableFuture[]::new));
+        String initializer = field.isAnnotationPresent(Instance.class) ? field.getAnnotation(Instance.class).initializer() : "";
+        if (initializer.isEmpty()) {
+            return dependencies;
+        }
+
+        Method method;
+        try {
+            method = created.instance().getClass().getMethod(initializer);
+        } catch (NoSuchMethodException e) {
+            throw new WiringException("No initializer %s() for %s".formatted(initializer, ReflectionUtils.asString(field)), e);
+        }
+        return dependencies.thenComposeAsync(ignored -> {
+            try {
+                method.setAccessible(true);
+                return method.invoke(created.instance()) instanceof CompletionStage<?> stage
+                    ? stage.toCompletableFuture().thenApply(result -> (Void) null)
+                    : CompletableFuture.<Void>completedFuture(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                return CompletableFuture.failedFuture(e instanceof InvocationTargetException ? e.getCause() : e);
+            }
+        }, INITIALIZATION);
+    }
+
+    private CompletableFuture<Void> initializationOf(WiringGraph.Key key) {
+        CompletableFuture<Void> initialization = initializations.get(key);
+        if (initialization != null || graph.kindOf(key) != null) {
+            return initialization != null ? initialization : CompletableFuture.completedFuture(null);
+        }
+        return parent != null ? parent.initializationOf(key) : CompletableFuture.completedFuture(null);
+    }
 
-        if (fieldsToInstantiate.size() > 0) {
-            throw new WiringException(
-                fieldsToInstantiate.stream()
-                    .map(this::instantiate)
-                    .filter(result -> result instanceof InstanceCreationFailed)
-                    .map(result -> (InstanceCreationFailed) result)
-                    .map(InstanceCreationFailed::message).
-                    collect(Collectors.joining(System.lineSeparator()))
-            );
+    /**
+     * Waits for the initializers of all instances, reporting every failure as a suppressed exception. A positive
+     * construction timeout bounds the wait for all of them together.
+     */
+    public void awaitInitialization() {
+        List<Throwable> failures = new ArrayList<>();
+        Set<Throwable> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean timed = !constructionTimeout.isZero() && !constructionTimeout.isNegative();
+        long deadline = System.nanoTime() + constructionTimeout.toNanos();
+        for (Map.Entry<WiringGraph.Key, CompletableFuture<Void>> initialization : initializations.entrySet()) {
+            WiringGraph.Key key = initialization.getKey();
+            try {
+                if (timed) {
+                    initialization.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } else {
+                    initialization.getValue().join();
+                }
+            } catch (CompletionException | ExecutionException e) {
+                // Dependents fail along with their dependencies, the failure is reported for the first one only
+                if (reported.add(e.getCause())) {
+                    failures.add(new WiringException("Unable to initialize %s".formatted(key), e.getCause()));
+                }
+            } catch (TimeoutException e) {
+                failures.add(new WiringException("Initialization of %s did not complete within %d ms".formatted(key, constructionTimeout.toMillis())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.add(new WiringException("Interrupted while waiting for the initialization of %s".formatted(key), e));
+                break;
+            }
+        }
+        if (!failures.isEmpty()) {
+            WiringException exception = new WiringException("Unable to initialize %d wired instance(s)".formatted(failures.size()));
+            failures.forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    /**
+     * Session scoped instances are only shared when all of their dependencies are predefined values or shared
+     * instances themselves, anything else is created per test and would never match a fingerprint.
+     */
+    private boolean isShared(Field field, List<WiringGraph.Edge> edges) {
+        return field.isAnnotationPresent(Instance.class) && field.getAnnotation(Instance.class).scope() == Instance.Scope.SESSION
+            && field.getAnnotation(Instance.class).injection() == Instance.Injection.CONSTRUCTOR
+            && edges.stream().map(edge -> kindOf(edge.target())).allMatch(kind -> kind == WiringGraph.NodeKind.PREDEFINED || kind == WiringGraph.NodeKind.SHARED);
+    }
+
+    private WiringGraph.NodeKind kindOf(WiringGraph.Key key) {
+        WiringGraph.NodeKind kind = graph.kindOf(key);
+        return kind != null || parent == null ? kind : parent.kindOf(key);
+    }
+
+    boolean isLocallyDefinedBy(WiringGraph.Key key) {
+        return context.isLocallyDefinedBy(key.type(), key.name());
+    }
+
+    Set<WiringGraph.Key> replace(WiringGraph.Key key, Object value) {
+        WiringGraph.NodeKind kind = graph.kindOf(key);
+        if (kind == WiringGraph.NodeKind.INSTANCE || kind == WiringGraph.NodeKind.FAKE) {
+            superseded.add(context.lookup(key.type(), key.name()));
+        }
+        graph.markPredefined(key);
+        context.register(key.type(), key.name(), value);
+        return rebuildDependentsOf(Set.of(key));
+    }
+
+    /**
+     * Reconstructs every instance depending on one of the changed keys, directly or transitively, in the
+     * original construction order. Returns the changed keys together with the keys of the rebuilt instances.
+     */
+    Set<WiringGraph.Key> rebuildDependentsOf(Set<WiringGraph.Key> changed) {
+        Set<WiringGraph.Key> rebuilt = new LinkedHashSet<>(changed);
+        for (WiringGraph.Node node : List.copyOf(graph.nodes())) {
+            if (node.isConstructed() && node.dependsOnAny(rebuilt)) {
+                InstantiationResult result = instantiate(node.field(), false);
+                if (result instanceof InstanceCreationFailed failed) {
+                    throw new WiringException(failed.message());
+                }
+                if (node.kind() != WiringGraph.NodeKind.SHARED) {
+                    superseded.add(context.lookup(node.key().type(), node.key().name()));
+                }
+                register(node.field(), (InstanceCreated) result);
+                rebuilt.add(node.key());
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Closes every constructed instance implementing {@link AutoCloseable}, dependents before their dependencies.
+     * Shared instances outlive the test and are closed with the session.
+     * Instances without a dependent in common are closed concurrently. All failures are reported together, as the
+     * suppressed exceptions of a single {@link WiringException}.
+     */
+    public void closeInstances() {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int index = superseded.size() - 1; index >= 0; index--) {
+            close(superseded.get(index), "superseded instance", failures);
+        }
+
+        List<WiringGraph.Node> constructed = graph.nodes().stream()
+            .filter(node -> node.isConstructed() && node.kind() != WiringGraph.NodeKind.SHARED)
+            .toList();
+        if (constructed.stream().anyMatch(node -> context.lookup(node.key().type(), node.key().name()) instanceof AutoCloseable)) {
+            Map<WiringGraph.Key, CompletableFuture<Void>> closed = new HashMap<>();
+            constructed.forEach(node -> closing(node, constructed, closed, failures));
+            CompletableFuture.allOf(closed.values().toArray(CompletableFuture[]::new)).join();
+        }
+
+        if (!failures.isEmpty()) {
+            WiringException exception = new WiringException("Unable to close %d wired instance(s)".formatted(failures.size()));
+            failures.forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    /**
+     * Schedules closing the instance once its dependents are closed, scheduling them first whatever order they were
+     * registered in. A dependency cycle is broken where it is entered again.
+     */
+    private CompletableFuture<Void> closing(WiringGraph.Node node, List<WiringGraph.Node> constructed, Map<WiringGraph.Key, CompletableFuture<Void>> closed,
+                                            List<Throwable> failures) {
+        if (closed.containsKey(node.key())) {
+            CompletableFuture<Void> scheduled = closed.get(node.key());
+            return scheduled == null ? CompletableFuture.completedFuture(null) : scheduled;
+        }
+        closed.put(node.key(), null);
+        CompletableFuture<?>[] dependentsClosed = constructed.stream()
+            .filter(it -> it != node && it.dependsOnAny(Set.of(node.key())))
+            .map(it -> closing(it, constructed, closed, failures))
+            .toArray(CompletableFuture[]::new);
+        Object instance = context.lookup(node.key().type(), node.key().name());
+        CompletableFuture<Void> scheduled = CompletableFuture.allOf(dependentsClosed).thenRunAsync(() -> close(instance, node.key().toString(), failures));
+        closed.put(node.key(), scheduled);
+        return scheduled;
+    }
+
+    private static void close(Object instance, String description, List<Throwable> failures) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                failures.add(new WiringException("Unable to close %s".formatted(description), e));
+            }
+        }
+    }
+
+    public Set<Class<?>> referencedParameterTypes(List<Field> fields) {
+        return parameterTypesReferencedBy(fields);
+    }
+
+    static Set<Class<?>> parameterTypesReferencedBy(List<Field> fields) {
+        Set<Class<?>> types = fields.stream()
+            .map(WiringEngine::selectConstructor)
+            .filter(it -> it instanceof ConstructorSelected)
+            .flatMap(it -> stream(((ConstructorSelected) it).constructor().getParameterTypes()))
+            .collect(Collectors.toSet());
+        fields.forEach(field -> MemberInjection.membersOf(field).forEach(member -> types.add(member.type())));
+        return types;
+    }
+
+    public Set<Class<?>> constructedTypes() {
+        return graph.nodes().stream()
+            .filter(WiringGraph.Node::isConstructed)
+            .map(node -> implementationType(node.field()))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * The classes of the real objects the test predefines, mocks and stand-ins left aside.
+     */
+    public Set<Class<?>> predefinedTypes() {
+        return graph.nodes().stream()
+            .filter(node -> node.kind() == WiringGraph.NodeKind.PREDEFINED)
+            .map(node -> context.lookup(node.key().type(), node.key().name()))
+            .filter(value -> value != null && !mockingDetails(value).isMock() && !Proxy.isProxyClass(value.getClass()))
+            .map(Object::getClass)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public Set<Class<?>> mockedTypes() {
+        return graph.nodes().stream()
+            .filter(node -> node.kind() == WiringGraph.NodeKind.MOCK)
+            .map(node -> node.key().type())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public void exportGraph(Path directory, String name, Duration slowConstructorThreshold) {
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(name + ".dot"), graph.toDot(name, slowConstructorThreshold));
+            Files.writeString(directory.resolve(name + ".json"), graph.toJson(name, slowConstructorThreshold));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to export the wiring graph of %s".formatted(name), e);
         }
     }
 
     InstantiationResult instantiate(Field field) {
+        return instantiate(field, field.isAnnotationPresent(Instance.class) && field.getAnnotation(Instance.class).snapshot());
+    }
+
+    /**
+     * Rebuilt instances are constructed without their snapshot, it was taken with the arguments they are rebuilt
+     * to get rid of. Snapshots are taken once the members are injected.
+     */
+    private InstantiationResult instantiate(Field field, boolean snapshot) {
+        boolean restore = snapshot && snapshots.contains(field);
+        AtomicBoolean constructed = new AtomicBoolean();
+        InstantiationResult result = instantiate(field, (constructor, parameters) -> {
+            if (isShared(field, parameters.edges())) {
+                SessionInstances.Fingerprint fingerprint = new SessionInstances.Fingerprint(constructor, parameters.edges(), parameters.parameters());
+                Object shared = sessionInstances.lookup(fingerprint);
+                if (shared != null) {
+                    return new InstanceCreated(shared, ReflectionUtils.asString(constructor), parameters.edges(), 0);
+                }
+                InstanceCreated created = construct(field, constructor, parameters);
+                return new InstanceCreated(sessionInstances.share(fingerprint, created.instance()), created.constructor(), created.edges(), created.constructionNanos());
+            }
+            if (restore) {
+                long start = System.nanoTime();
+                Object instance = snapshots.restore(field, context);
+                return new InstanceCreated(instance, ReflectionUtils.asString(constructor), parameters.edges(), System.nanoTime() - start);
+            }
+            constructed.set(true);
+            return construct(field, constructor, parameters);
+        });
+        if (snapshot && constructed.get() && result instanceof InstanceCreated created) {
+            snapshots.capture(field, created.instance(), context);
+        }
+        return result;
+    }
+
+    private InstanceCreated construct(Field field, Executable creator, AllParametersResolved parameters) {
+        if (constructionTimeout.isZero() || constructionTimeout.isNegative()) {
+            return constructDirectly(field, creator, parameters);
+        }
+        return ConstructionWatchdog.call(() -> constructDirectly(field, creator, parameters), constructionTimeout,
+            () -> "Construction of %s -> %s%s".formatted(ReflectionUtils.asString(field), creator instanceof Method ? "" : "new ", ReflectionUtils.asString(creator)),
+            late -> closeLate(late.instance()));
+    }
+
+    /**
+     * Closes an instance whose construction was given up on, nobody is left to report a failure to.
+     */
+    private static void closeLate(Object instance) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // The wiring already failed with the timeout
+            }
+        }
+    }
+
+    private static InstanceCreated constructDirectly(Field field, Executable creator, AllParametersResolved parameters) {
+        if (creator instanceof Method factory) {
+            MethodHandle invoker = FACTORY_INVOKERS.get(factory.getDeclaringClass()).computeIfAbsent(factory, WiringEngine::invokerOf);
+            long start = System.nanoTime();
+            try {
+                Object instance = (Object) invoker.invokeExact(parameters.parameters());
+                return new InstanceCreated(instance, ReflectionUtils.asString(factory), parameters.edges(), System.nanoTime() - start);
+            } catch (Throwable e) {
+                throw new WiringException("Unable to instantiate %s".formatted(ReflectionUtils.asString(field)), e);
+            }
+        }
+
+        Constructor<?> constructor = (Constructor<?>) creator;
+        try {
+            constructor.setAccessible(true);
+            long start = System.nanoTime();
+            Object instance = constructor.newInstance(parameters.parameters());
+            return new InstanceCreated(instance, ReflectionUtils.asString(constructor), parameters.edges(), System.nanoTime() - start);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new WiringException("Unable to instantiate %s".formatted(ReflectionUtils.asString(field)), e);
+        }
+    }
+
+    /**
+     * Binds the factory once per declaring class, taking the resolved parameters as an array. Later invocations skip
+     * the access checks of reflection, the arguments are still spread from the array.
+     */
+    private static MethodHandle invokerOf(Method factory) {
+        try {
+            factory.setAccessible(true);
+            return MethodHandles.lookup().unreflect(factory)
+                .asSpreader(Object[].class, factory.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new WiringException("Unable to access %s".formatted(ReflectionUtils.asString(factory)), e);
+        }
+    }
+
+    InstantiationResult plan(Field field) {
+        return instantiate(field, (constructor, parameters) -> new InstanceCreated(PLANNED, ReflectionUtils.asString(constructor), parameters.edges(), 0));
+    }
+
+    private InstantiationResult instantiate(Field field, BiFunction<Executable, AllParametersResolved, InstanceCreated> creation) {
         ConstructorResult constructorResolution = selectConstructor(field);
 
         if (constructorResolution instanceof ConstructorSelected resolved) {
-            Constructor<?> selectedConstructor = resolved.constructor();
-            MultipleParametersResult resolution = resolvedParameters(selectedConstructor);
+            Executable selectedConstructor = resolved.constructor();
+            MultipleParametersResult resolution = resolvedParameters(selectedConstructor, field);
 
             if (resolution instanceof AllParametersResolved allResolved) {
-                try {
-                    return new InstanceCreated(selectedConstructor.newInstance(allResolved.parameters()));
-                } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                    throw new WiringException("Unable to instantiate %s".formatted(ReflectionUtils.asString(field)), e);
+                List<MemberInjection.Member> members = MemberInjection.membersOf(field);
+                if (members.isEmpty()) {
+                    return creation.apply(selectedConstructor, allResolved);
+                }
+                Map<MemberInjection.Member, SingleParameterResolution> memberResolutions = new LinkedHashMap<>();
+                members.forEach(member -> memberResolutions.put(member, resolve(member.type(), member.name(), member.description(), field)));
+                // Everything the members wait for is known before constructing, a failed attempt constructs nothing
+                MultipleParametersResult awaited = combine(members.stream()
+                    .filter(member -> member.required() || isPending(member.type(), field))
+                    .map(memberResolutions::get)
+                    .toList());
+                if (awaited instanceof SomeParametersUnresolved someUnresolved) {
+                    return new InstanceCreationFailed(field, resolved, someUnresolved);
                 }
+                return injectMembers(creation.apply(selectedConstructor, allResolved), memberResolutions);
             }
             if (resolution instanceof SomeParametersUnresolved someUnresolved) {
                 return new InstanceCreationFailed(field, resolved, someUnresolved);
@@ -88,59 +576,143 @@ public class WiringEngine {
         throw new IllegalStateException();
     }
 
-    private MultipleParametersResult resolvedParameters(Constructor<?> selectedConstructor) {
-        return combine(stream(selectedConstructor.getParameters()).map(this::resolve).toList());
+    /**
+     * A field of this level still to be wired, which will shadow the outer candidate the parameter resolves to now.
+     * Resolved by type only, any field of the type changes how the parameter resolves.
+     */
+    private Field shadowingField(Class<?> type, String resolvedName, boolean byName, Field waiting) {
+        if (parent == null || context.isLocallyDefinedBy(type, resolvedName)) {
+            return null;
+        }
+        return unwired.stream()
+            .filter(field -> field != waiting && field.getType() == type && (!byName || field.getName().equals(resolvedName)))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private boolean isPending(Class<?> type, Field waiting) {
+        return pending.stream().anyMatch(field -> field != waiting && type.isAssignableFrom(field.getType()));
+    }
+
+    /**
+     * Fills the members the constructor left unset, the ones without a candidate are left as they are. Restored and
+     * shared instances already hold their members, they depend on the ones still holding the resolved value.
+     */
+    private static InstantiationResult injectMembers(InstanceCreated created, Map<MemberInjection.Member, SingleParameterResolution> members) {
+        List<WiringGraph.Edge> edges = new ArrayList<>(created.edges());
+        boolean planned = created.instance() == PLANNED;
+        members.forEach((member, resolution) -> {
+            if (resolution instanceof ParameterResolved resolvedMember) {
+                if (!planned && member.isUnset(created.instance())) {
+                    member.inject(created.instance(), resolvedMember.object);
+                }
+                if (planned || member.holds(created.instance(), resolvedMember.object)) {
+                    edges.add(resolvedMember.edge);
+                }
+            }
+        });
+        return new InstanceCreated(created.instance(), created.constructor(), edges, created.constructionNanos());
+    }
+
+    private MultipleParametersResult resolvedParameters(Executable selectedConstructor, Field field) {
+        return combine(stream(selectedConstructor.getParameters())
+            .map(parameter -> resolve(parameter.getType(), ParameterNames.nameOf(parameter), ReflectionUtils.asString(parameter), field))
+            .toList());
     }
 
     private static ConstructorResult selectConstructor(Field dependency) {
-        var constructors = dependency.getType().getConstructors();
-        if (constructors.length == 0) {
-            return new ConstructorNotFound();
+        Class<?> type = implementationType(dependency);
+        String factory = dependency.isAnnotationPresent(Instance.class) ? dependency.getAnnotation(Instance.class).factory() : "";
+        if (!factory.isEmpty()) {
+            Method[] factories = factoriesOf(type, dependency.getType(), Set.of(factory));
+            return factories.length == 0
+                ? new ConstructorNotFound("No public static factory method %s found".formatted(factory), List.of())
+                : select(factories, dependency, "No matching factory method found");
+        }
+
+        var constructors = type.getConstructors();
+        if (constructors.length > 0) {
+            return select(constructors, dependency, "No matching constructor found");
         }
 
-        return stream(constructors).filter(constructorSelector(constructors, dependency)).map(it -> (ConstructorResult) new ConstructorSelected(it)).findFirst()
-            .orElseGet(() -> new ConstructorNotFound(List.of(constructors)));
+        // Types without public constructors are created through their conventional static factory, if any
+        Method[] factories = factoriesOf(type, dependency.getType(), DEFAULT_FACTORY_NAMES);
+        return factories.length == 0 ? new ConstructorNotFound() : select(factories, dependency, "No matching factory method found");
+    }
+
+    private static Method[] factoriesOf(Class<?> type, Class<?> returnType, Set<String> names) {
+        return stream(type.getMethods())
+            .filter(it -> Modifier.isStatic(it.getModifiers()) && names.contains(it.getName()) && returnType.isAssignableFrom(it.getReturnType()))
+            .toArray(Method[]::new);
+    }
+
+    private static ConstructorResult select(Executable[] candidates, Field dependency, String notFound) {
+        return stream(candidates).filter(constructorSelector(candidates, dependency)).map(it -> (ConstructorResult) new ConstructorSelected(it)).findFirst()
+            .orElseGet(() -> new ConstructorNotFound(notFound, List.of(candidates)));
     }
 
-    private static Predicate<Constructor<?>> constructorSelector(Constructor<?>[] constructors, Field field) {
+    private static Predicate<Executable> constructorSelector(Executable[] constructors, Field field) {
         if (constructors.length == 1) {
             return anyConstructor();
         } else {
-            return constructorMatchingArguments(field.getAnnotation(Instance.class));
+            return constructorMatchingArguments(field.isAnnotationPresent(Fake.class)
+                ? field.getAnnotation(Fake.class).parameterTypes()
+                : field.getAnnotation(Instance.class).parameterTypes());
         }
     }
 
-    private static Predicate<Constructor<?>> anyConstructor() {
+    private static Class<?> implementationType(Field field) {
+        if (!field.isAnnotationPresent(Fake.class)) {
+            return field.getType();
+        }
+        Class<?> fake = field.getAnnotation(Fake.class).value();
+        if (!field.getType().isAssignableFrom(fake)) {
+            throw new WiringException("Fake %s is not assignable to %s".formatted(fake.getSimpleName(), ReflectionUtils.asString(field)));
+        }
+        return fake;
+    }
+
+    private static Predicate<Executable> anyConstructor() {
         return it -> true;
     }
 
-    private static Predicate<Constructor<?>> constructorMatchingArguments(Instance annotation) {
-        return it -> Arrays.equals(it.getParameterTypes(), annotation.parameterTypes());
+    private static Predicate<Executable> constructorMatchingArguments(Class<?>[] parameterTypes) {
+        return it -> Arrays.equals(it.getParameterTypes(), parameterTypes);
     }
 
     public SingleParameterResolution resolve(Parameter parameter) {
-        var type = parameter.getType();
-        var name = parameter.getName();
+        return resolve(parameter.getType(), ParameterNames.nameOf(parameter), ReflectionUtils.asString(parameter), null);
+    }
 
+    private SingleParameterResolution resolve(Class<?> type, String name, String description, Field waiting) {
         WiringContext.ParameterDefinition definition;
 
         definition = context.parameterDefinition(type, name);
 
+        Field shadowing = switch (definition) {
+            case UNIQUE_BY_TYPE_AND_NAME -> shadowingField(type, name, true, waiting);
+            case UNIQUE_BY_TYPE -> shadowingField(type, context.lookupNameFor(type), false, waiting);
+            default -> null;
+        };
+        if (shadowing != null) {
+            return unresolved("No injection candidate for %s yet, %s is still to be wired".formatted(description, ReflectionUtils.asString(shadowing)));
+        }
+
         return switch (definition) {
-            case UNIQUE_BY_TYPE_AND_NAME -> resolved(lookup(type, name));
-            case UNIQUE_BY_TYPE -> resolved(context.lookup(type));
+            case UNIQUE_BY_TYPE_AND_NAME -> resolved(lookup(type, name), new WiringGraph.Edge(name, new WiringGraph.Key(type, name), definition));
+            case UNIQUE_BY_TYPE -> resolved(context.lookup(type), new WiringGraph.Edge(name, new WiringGraph.Key(type, context.lookupNameFor(type)), definition));
             case NONUNIQUE_BY_TYPE -> {
                 yield unresolved(
                     "No unique candidate for %s%s\t\tavailable candidates are %s"
                         .formatted(
-                            ReflectionUtils.asString(parameter),
+                            description,
                             System.lineSeparator(),
                             context.lookupNamesFor(type)));
             }
             case UNDEFINED -> {
                 yield unresolved(
                     "No injection candidate for %s"
-                        .formatted(ReflectionUtils.asString(parameter)));
+                        .formatted(description));
             }
         };
     }
@@ -0,0 +1,157 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class WiringGraph {
+    enum NodeKind {
+        PREDEFINED,
+        MOCK,
+        FAKE,
+        SHARED,
+        INSTANCE
+    }
+
+    record Key(Class<?> type, String name) {
+        static Key of(Field field) {
+            return new Key(field.getType(), field.getName());
+        }
+
+        @Override
+        public String toString() {
+            return "%s %s".formatted(type.getSimpleName(), name);
+        }
+    }
+
+    record Edge(String parameter, Key target, WiringContext.ParameterDefinition definition) {
+    }
+
+    record Node(Key key, Field field, NodeKind kind, String constructor, List<Edge> edges, long constructionNanos) {
+        boolean isSlowerThan(Duration threshold) {
+            return isConstructed() && constructionNanos > threshold.toNanos();
+        }
+
+        boolean dependsOnAny(Set<Key> keys) {
+            return edges.stream().anyMatch(edge -> keys.contains(edge.target()));
+        }
+
+        boolean isConstructed() {
+            return kind == NodeKind.INSTANCE || kind == NodeKind.FAKE || kind == NodeKind.SHARED;
+        }
+    }
+
+    private final Map<Key, Node> nodes = new LinkedHashMap<>();
+
+    void clear() {
+        nodes.clear();
+    }
+
+    void add(Field field, NodeKind kind) {
+        nodes.put(Key.of(field), new Node(Key.of(field), field, kind, null, List.of(), 0));
+    }
+
+    NodeKind kindOf(Key key) {
+        Node node = nodes.get(key);
+        return node == null ? null : node.kind();
+    }
+
+    /**
+     * Turns a node into a predefined one, its value was supplied from outside and is no longer rebuilt or closed.
+     */
+    void markPredefined(Key key) {
+        nodes.computeIfPresent(key, (ignored, node) -> new Node(key, node.field(), NodeKind.PREDEFINED, null, List.of(), 0));
+    }
+
+    void addInstance(Field field, NodeKind kind, String constructor, List<Edge> edges, long constructionNanos) {
+        nodes.put(Key.of(field), new Node(Key.of(field), field, kind, constructor, edges, constructionNanos));
+    }
+
+    Collection<Node> nodes() {
+        return nodes.values();
+    }
+
+    String toDot(String name, Duration threshold) {
+        List<String> lines = new ArrayList<>();
+        lines.add("digraph %s {".formatted(dotString(name)));
+        for (Node node : nodes.values()) {
+            String label = node.isConstructed()
+                ? dotLabel(node.key().toString(), node.kind().name(), millis(node.constructionNanos()) + " ms")
+                : dotLabel(node.key().toString(), node.kind().name());
+            lines.add("    %s [label=%s, shape=%s%s];".formatted(
+                dotString(node.key().toString()),
+                label,
+                node.isConstructed() ? "box" : "ellipse",
+                node.isSlowerThan(threshold) ? ", color=red, style=bold" : ""));
+        }
+        for (Node node : nodes.values()) {
+            for (Edge edge : node.edges()) {
+                lines.add("    %s -> %s [label=%s];".formatted(
+                    dotString(node.key().toString()),
+                    dotString(edge.target().toString()),
+                    dotString("%s: %s".formatted(edge.parameter(), edge.definition()))));
+            }
+        }
+        lines.add("}");
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+
+    String toJson(String name, Duration threshold) {
+        return "{\"testClass\": %s, \"slowConstructorThresholdMillis\": %d, \"nodes\": [%s]}".formatted(
+            jsonString(name),
+            threshold.toMillis(),
+            nodes.values().stream().map(node -> toJson(node, threshold)).collect(Collectors.joining(", "))
+        ) + System.lineSeparator();
+    }
+
+    private static String toJson(Node node, Duration threshold) {
+        StringBuilder builder = new StringBuilder("{");
+        builder.append("\"type\": %s, \"name\": %s, \"kind\": %s".formatted(
+            jsonString(node.key().type().getName()), jsonString(node.key().name()), jsonString(node.kind().name())));
+        if (node.isConstructed()) {
+            builder.append(", \"constructor\": %s, \"constructionMillis\": %s, \"slow\": %s, \"dependencies\": [%s]".formatted(
+                jsonString(node.constructor()),
+                millis(node.constructionNanos()),
+                node.isSlowerThan(threshold),
+                node.edges().stream()
+                    .map(edge -> "{\"parameter\": %s, \"type\": %s, \"name\": %s, \"resolution\": %s}".formatted(
+                        jsonString(edge.parameter()),
+                        jsonString(edge.target().type().getName()),
+                        jsonString(edge.target().name()),
+                        jsonString(edge.definition().name())))
+                    .collect(Collectors.joining(", "))));
+        }
+        return builder.append("}").toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String dotString(String value) {
+        return "\"" + dotEscaped(value) + "\"";
+    }
+
+    /**
+     * Lines are escaped one by one, so only the separating line breaks remain escape sequences.
+     */
+    private static String dotLabel(String... lines) {
+        return "\"" + Arrays.stream(lines).map(WiringGraph::dotEscaped).collect(Collectors.joining("\\n")) + "\"";
+    }
+
+    private static String dotEscaped(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String jsonString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,132 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import poc.xmockito.junit.jupiter.Fake;
+import poc.xmockito.junit.jupiter.Instance;
+import poc.xmockito.junit.jupiter.Mock;
+import poc.xmockito.junit.jupiter.Recorded;
+import poc.xmockito.junit.jupiter.StubTemplate;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.stream;
+
+public class WiringPlan {
+    private static final ClassValue<WiringPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected WiringPlan computeValue(Class<?> testClass) {
+            return new WiringPlan(testClass);
+        }
+    };
+
+    private final List<Field> fields;
+    private final List<Field> toInstantiate;
+    private final List<Field> toMock;
+    private final List<Field> toInject;
+    private final List<Field> toCollect;
+    private final List<Field> toShare;
+    private final Set<Class<?>> referencedTypes;
+    private final List<Method> stubTemplates;
+
+    private WiringPlan(Class<?> testClass) {
+        this.fields = mergedFields(testClass);
+        this.toInject = fields.stream().filter(it -> it.isAnnotationPresent(Instance.class) || it.isAnnotationPresent(Mock.class) || it.isAnnotationPresent(Fake.class)).toList();
+        // A hidden field shares its key with the hiding one, the object is created once and injected into both
+        List<Field> toCreate = List.copyOf(toInject.stream()
+            .collect(Collectors.toMap(WiringGraph.Key::of, it -> it, (hidden, hiding) -> hiding, LinkedHashMap::new))
+            .values());
+        this.toInstantiate = toCreate.stream().filter(it -> it.isAnnotationPresent(Instance.class) || it.isAnnotationPresent(Fake.class)).toList();
+        this.toMock = toCreate.stream().filter(it -> it.isAnnotationPresent(Mock.class)).toList();
+        this.toCollect = fields.stream()
+            .filter(it -> !it.isSynthetic())
+            .filter(it -> !it.isAnnotationPresent(Instance.class) && !it.isAnnotationPresent(Mock.class) && !it.isAnnotationPresent(Fake.class))
+            .toList();
+        this.toShare = fields.stream()
+            .filter(it -> !it.isSynthetic())
+            .filter(it -> Modifier.isStatic(it.getModifiers())
+                || it.isAnnotationPresent(Instance.class) && it.getAnnotation(Instance.class).scope() == Instance.Scope.SESSION)
+            .toList();
+        this.referencedTypes = WiringEngine.parameterTypesReferencedBy(toInstantiate);
+        this.stubTemplates = stubTemplates(testClass);
+    }
+
+    public static WiringPlan of(Class<?> testClass) {
+        return PLANS.get(testClass);
+    }
+
+    public List<Field> dependenciesToInstantiate() {
+        return toInstantiate;
+    }
+
+    public List<Field> dependenciesToMock() {
+        return toMock;
+    }
+
+    public List<Field> dependenciesToInject() {
+        return toInject;
+    }
+
+    public List<Field> dependenciesToCollect(Set<Class<?>> referencedTypes) {
+        return toCollect.stream().filter(it -> referencedTypes.contains(it.getType()) || it.isAnnotationPresent(Recorded.class)).toList();
+    }
+
+    /**
+     * Static fields and session scoped instances, which other tests see as well.
+     */
+    public List<Field> sharedFields() {
+        return toShare;
+    }
+
+    public Set<Class<?>> referencedTypes() {
+        return referencedTypes;
+    }
+
+    public List<Method> stubTemplates() {
+        return stubTemplates;
+    }
+
+    List<Field> fieldsMatching(Set<WiringGraph.Key> keys) {
+        return fields.stream().filter(it -> !it.isSynthetic() && keys.contains(WiringGraph.Key.of(it))).toList();
+    }
+
+    private static List<Field> mergedFields(Class<?> testClass) {
+        // Superclass fields come first, a hidden field is still wired as the superclass code reads it
+        return hierarchy(testClass).stream()
+            .flatMap(type -> stream(type.getDeclaredFields()))
+            .toList();
+    }
+
+    private static List<Method> stubTemplates(Class<?> testClass) {
+        // Invoking an overridden template already runs the override, so each override chain is collected once
+        Map<List<Object>, Method> templates = new LinkedHashMap<>();
+        for (Class<?> type : hierarchy(testClass)) {
+            stream(type.getDeclaredMethods())
+                .filter(it -> it.isAnnotationPresent(StubTemplate.class))
+                .forEach(method -> templates.put(signature(method), method));
+        }
+        return List.copyOf(templates.values());
+    }
+
+    private static List<Object> signature(Method method) {
+        if (Modifier.isPrivate(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+            return List.of(method);
+        }
+        return List.of(method.getName(), List.of(method.getParameterTypes()));
+    }
+
+    private static Deque<Class<?>> hierarchy(Class<?> testClass) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.push(type);
+        }
+        return hierarchy;
+    }
+}
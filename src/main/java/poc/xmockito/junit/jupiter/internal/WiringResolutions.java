@@ -1,6 +1,7 @@
 package poc.xmockito.junit.jupiter.internal;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,14 +14,32 @@ abstract sealed class InstantiationResult permits InstanceCreated, InstanceCreat
 
 final class InstanceCreated extends InstantiationResult {
     private final Object instance;
+    private final String constructor;
+    private final List<WiringGraph.Edge> edges;
+    private final long constructionNanos;
 
-    InstanceCreated(Object instance) {
+    InstanceCreated(Object instance, String constructor, List<WiringGraph.Edge> edges, long constructionNanos) {
         this.instance = instance;
+        this.constructor = constructor;
+        this.edges = edges;
+        this.constructionNanos = constructionNanos;
     }
 
     public Object instance() {
         return instance;
     }
+
+    String constructor() {
+        return constructor;
+    }
+
+    List<WiringGraph.Edge> edges() {
+        return edges;
+    }
+
+    long constructionNanos() {
+        return constructionNanos;
+    }
 }
 
 final class InstanceCreationFailed extends InstantiationResult {
@@ -55,24 +74,24 @@ abstract sealed class ConstructorResult permits ConstructorSelected, Constructor
 }
 
 final class ConstructorSelected extends ConstructorResult {
-    private final Constructor<?> constructor;
+    private final Executable constructor;
 
-    ConstructorSelected(Constructor<?> constructor) {
+    ConstructorSelected(Executable constructor) {
         this.constructor = constructor;
     }
 
-    public Constructor<?> constructor() {
+    public Executable constructor() {
         return this.constructor;
     }
 
     @Override
     String message() {
-        return "new " + ReflectionUtils.asString(constructor);
+        return constructor instanceof Constructor<?> ? "new " + ReflectionUtils.asString(constructor) : ReflectionUtils.asString(constructor);
     }
 }
 
 final class ConstructorNotFound extends ConstructorResult {
-    private final List<Constructor<?>> constructors;
+    private final List<Executable> constructors;
     private final String message;
 
     ConstructorNotFound() {
@@ -80,9 +99,9 @@ final class ConstructorNotFound extends ConstructorResult {
         this.message = "No public constructor found";
     }
 
-    ConstructorNotFound(List<Constructor<?>> constructors) {
+    ConstructorNotFound(String message, List<Executable> constructors) {
         this.constructors = constructors;
-        this.message = "No matching constructor found";
+        this.message = message;
     }
 
     String message() {
@@ -129,6 +148,10 @@ final class AllParametersResolved extends MultipleParametersResult {
         return this.resolvedParameters.stream().map(resolvedParameter -> resolvedParameter.object).toArray();
     }
 
+    List<WiringGraph.Edge> edges() {
+        return this.resolvedParameters.stream().map(resolvedParameter -> resolvedParameter.edge).toList();
+    }
+
 }
 
 final class SomeParametersUnresolved extends MultipleParametersResult {
@@ -145,8 +168,8 @@ final class SomeParametersUnresolved extends MultipleParametersResult {
 
 abstract sealed class SingleParameterResolution permits ParameterResolved, ParameterUnresolved {
 
-    public static SingleParameterResolution resolved(Object instance) {
-        return new ParameterResolved(instance);
+    public static SingleParameterResolution resolved(Object instance, WiringGraph.Edge edge) {
+        return new ParameterResolved(instance, edge);
     }
 
     public static SingleParameterResolution unresolved(String message) {
@@ -156,9 +179,11 @@ abstract sealed class SingleParameterResolution permits ParameterResolved, Param
 
 final class ParameterResolved extends SingleParameterResolution {
     final Object object;
+    final WiringGraph.Edge edge;
 
-    ParameterResolved(Object object) {
+    ParameterResolved(Object object, WiringGraph.Edge edge) {
         this.object = object;
+        this.edge = edge;
     }
 }
 
@@ -0,0 +1,59 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Nested;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class WiringValidation {
+    private WiringValidation() {
+    }
+
+    /**
+     * Resolves the wiring of the test class and all of its {@code @Nested} classes, using placeholders instead of
+     * mocks, predefined values and instances, so no constructor is called and no test instance is needed.
+     */
+    public static void validate(Class<?> testClass) {
+        List<String> failures = new ArrayList<>();
+        validate(List.of(testClass), failures);
+        if (!failures.isEmpty()) {
+            throw new WiringException(String.join(System.lineSeparator(), failures));
+        }
+    }
+
+    private static void validate(List<Class<?>> levels, List<String> failures) {
+        Set<Class<?>> referencedTypes = new HashSet<>();
+        for (Class<?> level : levels) {
+            referencedTypes.addAll(WiringPlan.of(level).referencedTypes());
+        }
+
+        WiringEngine engine = null;
+        for (Class<?> level : levels) {
+            engine = engine == null ? new WiringEngine() : new WiringEngine(engine);
+            WiringPlan plan = WiringPlan.of(level);
+            for (var predefined : plan.dependenciesToCollect(referencedTypes)) {
+                engine.register(predefined, WiringEngine.PLANNED);
+            }
+            for (var mocked : plan.dependenciesToMock()) {
+                engine.registerMock(mocked, WiringEngine.PLANNED);
+            }
+            try {
+                engine.validateInstances(plan.dependenciesToInstantiate());
+            } catch (WiringException e) {
+                failures.add("%s%s%s".formatted(level.getName(), System.lineSeparator(), e.getMessage()));
+                return;
+            }
+        }
+
+        Class<?> innermost = levels.get(levels.size() - 1);
+        for (Class<?> nested : innermost.getDeclaredClasses()) {
+            if (nested.isAnnotationPresent(Nested.class) && !Modifier.isStatic(nested.getModifiers())) {
+                validate(Stream.concat(levels.stream(), Stream.of(nested)).toList(), failures);
+            }
+        }
+    }
+}
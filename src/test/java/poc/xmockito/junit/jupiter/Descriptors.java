@@ -0,0 +1,20 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+public class Descriptors {
+    private Descriptors() {
+    }
+
+    public static TestDescriptor test(String className) {
+        return new AbstractTestDescriptor(UniqueId.forEngine("test").append("method", className), "test", MethodSource.from(className, "test")) {
+            @Override
+            public Type getType() {
+                return Type.TEST;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class FactoryInstantiationTest {
+
+    private String currency = "EUR";
+    private Integer amount = 42;
+
+    @Mock
+    private Dependency dependency;
+
+    @Instance
+    private Money money;
+
+    @Instance(factory = "withDefaults")
+    private Registry registry;
+
+    @Instance(factory = "create", parameterTypes = {Dependency.class})
+    private Registry selected;
+
+    @Test
+    public void typesWithoutPublicConstructorsAreCreatedByTheirFactory() {
+        assertThat(money.currency()).isEqualTo("EUR");
+        assertThat(money.amount()).isEqualTo(42);
+    }
+
+    @Test
+    public void factoriesCanBeNamed() {
+        assertThat(registry.name()).isEqualTo("defaults");
+        assertThat(mockingDetails(registry.dependency()).isMock()).isTrue();
+    }
+
+    @Test
+    public void overloadedFactoriesAreSelectedByParameterTypes() {
+        assertThat(selected.name()).isEqualTo("created");
+        assertThat(selected.dependency()).isSameAs(dependency);
+    }
+
+    public static final class Money {
+        private final String currency;
+        private final int amount;
+
+        private Money(String currency, int amount) {
+            this.currency = currency;
+            this.amount = amount;
+        }
+
+        public static Money of(String currency, Integer amount) {
+            return new Money(currency, amount);
+        }
+
+        public String currency() {
+            return currency;
+        }
+
+        public int amount() {
+            return amount;
+        }
+    }
+
+    public record Registry(String name, Dependency dependency) {
+        public static Registry withDefaults(Dependency dependency) {
+            return new Registry("defaults", dependency);
+        }
+
+        public static Registry create(Dependency dependency) {
+            return new Registry("created", dependency);
+        }
+
+        public static Registry create(String name, Dependency dependency) {
+            return new Registry(name, dependency);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class FakeFieldsTest {
+
+    private String prefix = "fake:";
+
+    @Mock
+    private Dependency dependency;
+
+    @Fake(InMemoryRepository.class)
+    private Repository repository;
+
+    @Instance
+    private RepositoryClient subject;
+
+    @Test
+    public void fakedFieldsAreInitializedWithTheFakeImplementation() {
+        assertThat(repository).isInstanceOf(InMemoryRepository.class);
+        assertThat(mockingDetails(repository).isMock()).isFalse();
+    }
+
+    @Test
+    public void fakesAreWiredLikeInstances() {
+        assertThat(((InMemoryRepository) repository).dependency).isSameAs(dependency);
+
+        repository.save("value");
+        assertThat(repository.findAll()).containsExactly("fake:value");
+    }
+
+    @Test
+    public void fakesAreInjectedIntoInstances() {
+        assertThat(subject.repository()).isSameAs(repository);
+    }
+
+    public interface Repository {
+        void save(String value);
+
+        List<String> findAll();
+    }
+
+    public static class InMemoryRepository implements Repository {
+        private final List<String> values = new ArrayList<>();
+        private final String prefix;
+        private final Dependency dependency;
+
+        public InMemoryRepository(String prefix, Dependency dependency) {
+            this.prefix = prefix;
+            this.dependency = dependency;
+        }
+
+        @Override
+        public void save(String value) {
+            values.add(prefix + value);
+        }
+
+        @Override
+        public List<String> findAll() {
+            return values;
+        }
+    }
+
+    public record RepositoryClient(Repository repository) {
+    }
+}
@@ -0,0 +1,116 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class InheritedFieldsTest {
+
+    @Nested
+    class InheritedFieldsAreWired extends AbstractFixture {
+
+        @Test
+        public void inheritedMocksAreCreatedAndInjected() {
+            assertThat(mockingDetails(dependency).isMock()).isTrue();
+        }
+
+        @Test
+        public void inheritedInstancesAreWiredWithInheritedFields() {
+            assertThat(subject.dependency()).isSameAs(dependency);
+            assertThat(subject.value()).isEqualTo("inherited");
+        }
+    }
+
+    @Nested
+    class SubclassFieldsOverrideInheritedFields extends AbstractFixture {
+
+        private String value = "overridden";
+
+        @Test
+        public void inheritedInstancesAreWiredWithSubclassFields() {
+            assertThat(subject.dependency()).isSameAs(dependency);
+            assertThat(subject.value()).isEqualTo("overridden");
+        }
+    }
+
+    @Nested
+    class HiddenFieldsAreWiredToo extends AbstractFixture {
+
+        @Mock
+        protected Dependency dependency;
+
+        @Test
+        public void hiddenAndHidingFieldsAreBothWired() {
+            assertThat(mockingDetails(dependency).isMock()).isTrue();
+            assertThat(mockingDetails(super.dependency).isMock()).isTrue();
+            assertThat(subject.dependency()).isSameAs(dependency);
+            assertThat(super.dependency).isSameAs(dependency);
+        }
+    }
+
+    @Nested
+    class HiddenInstancesAreCreatedOnce extends CountingFixture {
+        private final AtomicInteger constructions = new AtomicInteger();
+
+        @Instance
+        protected Counted counted;
+
+        @Test
+        public void hiddenAndHidingFieldsShareOneInstance() {
+            assertThat(constructions).hasValue(1);
+            assertThat(super.counted).isSameAs(counted);
+        }
+    }
+
+    @Nested
+    class OverriddenStubTemplatesRunOnce extends AbstractFixture {
+        private int runs;
+
+        @Override
+        @StubTemplate
+        void stubDependency() {
+            runs++;
+        }
+
+        @Test
+        public void overridingTemplateRunsOnce() {
+            assertThat(runs).isEqualTo(1);
+        }
+    }
+
+    abstract static class AbstractFixture {
+        private String value = "inherited";
+
+        @Mock
+        protected Dependency dependency;
+
+        @Instance
+        protected Subject subject;
+
+        @StubTemplate
+        void stubDependency() {
+        }
+    }
+
+    abstract static class CountingFixture {
+        @Instance
+        protected Counted counted;
+    }
+
+    public static class Counted {
+        public Counted(AtomicInteger constructions) {
+            constructions.incrementAndGet();
+        }
+    }
+
+    public record Subject(String value, Dependency dependency) {
+    }
+}
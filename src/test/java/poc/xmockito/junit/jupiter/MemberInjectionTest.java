@@ -0,0 +1,102 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(XMockitoExtension.class)
+public class MemberInjectionTest {
+
+    private String name = "legacy";
+
+    @Mock
+    private Dependency dependency;
+
+    @Instance(injection = Instance.Injection.ANNOTATED)
+    private AnnotatedService annotated;
+
+    @Instance(injection = Instance.Injection.ALL)
+    private LegacyService legacy;
+
+    @Instance
+    private LegacyService constructorOnly;
+
+    @Instance(injection = Instance.Injection.ALL)
+    private LegacyClient client;
+
+    @Instance(injection = Instance.Injection.ALL)
+    private Sink sink;
+
+    @Test
+    public void wiredFieldsAndMethodsAreInjected() {
+        assertThat(annotated.dependency).isSameAs(dependency);
+        assertThat(annotated.name).isEqualTo("legacy");
+        assertThat(annotated.notWired).isNull();
+    }
+
+    @Test
+    public void unsetFieldsAndSettersAreFilled() {
+        assertThat(legacy.dependency).isSameAs(dependency);
+        assertThat(legacy.name).isEqualTo("legacy");
+        assertThat(legacy.initialized).isEqualTo("initialized");
+        assertThat(legacy.unknown).isNotNull();
+    }
+
+    @Test
+    public void membersOfJdkSuperclassesAreLeftAlone() {
+        assertThat(sink.prefix).isEqualTo("legacy");
+        assertThat(sink).hasToString("");
+    }
+
+    @Test
+    public void membersAreOnlyInjectedOnRequest() {
+        assertThat(constructorOnly.dependency).isNull();
+        assertThat(constructorOnly.name).isNull();
+    }
+
+    @Test
+    public void instancesWiredByMembersAreWaitedFor() {
+        assertThat(client.legacy).isSameAs(legacy);
+    }
+
+    public static class AnnotatedService {
+        @Wired
+        private Dependency dependency;
+        private String name;
+        private String notWired;
+
+        @Wired
+        void name(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class LegacyService {
+        private Dependency dependency;
+        private String initialized = "initialized";
+        private String name;
+        private Unknown unknown = new Unknown();
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setUnknown(Unknown unknown) {
+            this.unknown = unknown;
+        }
+    }
+
+    public static class LegacyClient {
+        private LegacyService legacy;
+    }
+
+    public static class Sink extends StringWriter {
+        private String prefix;
+    }
+
+    public static class Unknown {
+    }
+}
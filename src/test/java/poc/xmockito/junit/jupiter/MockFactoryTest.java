@@ -0,0 +1,86 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class MockFactoryTest {
+
+    @Mock
+    private Repository byDefault;
+
+    @Mock(factory = ProxyMockFactory.class)
+    private Repository proxied;
+
+    @Mock(factory = ProxyMockFactory.class)
+    private Dependency notAnInterface;
+
+    @Instance
+    private RepositoryClient subject;
+
+    @Test
+    public void mocksAreCreatedByMockitoByDefault() {
+        assertThat(mockingDetails(byDefault).isMock()).isTrue();
+        assertThat(mockingDetails(byDefault).getMockCreationSettings().getMockName()).hasToString("byDefault");
+    }
+
+    @Test
+    public void interfaceMocksAreCreatedAsProxiesOnRequest() {
+        assertThat(ProxyMockFactory.isProxyMock(proxied)).isTrue();
+        assertThat(mockingDetails(proxied).isMock()).isFalse();
+        assertThat(proxied).hasToString("proxied");
+    }
+
+    @Test
+    public void classMocksFallBackToMockito() {
+        assertThat(mockingDetails(notAnInterface).isMock()).isTrue();
+    }
+
+    @Test
+    public void proxyMocksAnswerWithEmptyValues() {
+        assertThat(proxied.count()).isZero();
+        assertThat(proxied.findAll()).isEmpty();
+        assertThat(proxied.findFirst()).isEmpty();
+        assertThat(proxied.describe()).isNull();
+    }
+
+    @Test
+    public void proxyMocksCanBeStubbedByMethodName() {
+        ProxyMockFactory.stub(proxied, "findFirst", args -> Optional.of("first"));
+
+        assertThat(subject.proxied().findFirst()).contains("first");
+    }
+
+    @Test
+    public void overloadedMethodsAreStubbedBySignature() {
+        ProxyMockFactory.stub(proxied, "describe", new Class<?>[]{String.class}, args -> args[0] + "proxied");
+
+        assertThat(proxied.describe("a ")).isEqualTo("a proxied");
+        assertThat(proxied.describe()).isNull();
+        assertThatThrownBy(() -> ProxyMockFactory.stub(proxied, "describe", args -> "ambiguous"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("describe matches 2 methods of proxied, pass the parameter types of one of them");
+    }
+
+    public interface Repository {
+        int count();
+
+        List<String> findAll();
+
+        Optional<String> findFirst();
+
+        String describe();
+
+        String describe(String prefix);
+    }
+
+    public record RepositoryClient(Repository proxied) {
+    }
+}
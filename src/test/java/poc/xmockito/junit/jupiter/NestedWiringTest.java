@@ -0,0 +1,95 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class NestedWiringTest {
+
+    private String value = "outer";
+
+    @Mock
+    private Dependency dependency;
+
+    @Instance
+    private Box box;
+
+    @Test
+    public void outerFieldsAreWired() {
+        assertThat(mockingDetails(dependency).isMock()).isTrue();
+    }
+
+    @Nested
+    class InnerInstancesSeeOuterFields {
+
+        @Instance
+        private Subject subject;
+
+        @Test
+        public void outerFieldsAreInjected() {
+            assertThat(subject.value()).isEqualTo("outer");
+            assertThat(subject.dependency()).isSameAs(dependency);
+        }
+
+        @Nested
+        class InnermostFieldsOverrideOuterFields {
+
+            private String value = "innermost";
+
+            @Instance
+            private Subject subject;
+
+            @Test
+            public void innermostFieldsTakePrecedence() {
+                assertThat(subject.value()).isEqualTo("innermost");
+                assertThat(subject.dependency()).isSameAs(dependency);
+            }
+        }
+    }
+
+    @Nested
+    class InnerFieldsShadowOuterFieldsOfTheSameType {
+
+        private String other = "inner";
+
+        @Instance
+        private OtherSubject subject;
+
+        @Test
+        public void innerFieldShadowsOuterField() {
+            assertThat(subject.other()).isEqualTo("inner");
+        }
+    }
+
+    @Nested
+    class InnerInstancesShadowOuterInstancesDeclaredAfterTheirDependents {
+
+        @Instance
+        private User user;
+
+        @Instance
+        private Box box;
+
+        @Test
+        public void dependentsWaitForTheInnerInstance() {
+            assertThat(box).isNotSameAs(NestedWiringTest.this.box);
+            assertThat(user.box()).isSameAs(box);
+        }
+    }
+
+    public record Box() {
+    }
+
+    public record User(Box box) {
+    }
+
+    public record Subject(String value, Dependency dependency) {
+    }
+
+    public record OtherSubject(String other) {
+    }
+}
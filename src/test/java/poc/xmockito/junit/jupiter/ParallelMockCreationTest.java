@@ -0,0 +1,177 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class ParallelMockCreationTest {
+
+    @Mock
+    private First first;
+
+    @Mock
+    private Second second;
+
+    @Mock
+    private Second otherSecond;
+
+    @Mock
+    private Third third;
+
+    @Mock(factory = ProxyMockFactory.class)
+    private Fourth fourth;
+
+    @Instance
+    private Subject subject;
+
+    @Test
+    public void mocksOfAllTypesAreCreatedAndNamed() {
+        assertThat(List.of(first, second, otherSecond, third)).allMatch(it -> mockingDetails(it).isMock());
+        assertThat(List.of(first, second, otherSecond, third, fourth)).map(Object::toString)
+            .containsExactly("first", "second", "otherSecond", "third", "fourth");
+        assertThat(second).isNotSameAs(otherSecond);
+    }
+
+    @Test
+    public void mocksAreInjectedIntoInstances() {
+        assertThat(subject.first()).isSameAs(first);
+        assertThat(subject.second()).isSameAs(second);
+        assertThat(subject.otherSecond()).isSameAs(otherSecond);
+        assertThat(subject.fourth()).isSameAs(fourth);
+    }
+
+    @Nested
+    class ByDefault {
+
+        @Mock(factory = RecordingMockFactory.class)
+        private Fifth fifth;
+
+        @Mock(factory = RecordingMockFactory.class)
+        private Sixth sixth;
+
+        @Test
+        public void mocksAreCreatedOnTheTestThread() {
+            assertThat(RecordingMockFactory.CREATORS.get("fifth")).isSameAs(Thread.currentThread());
+            assertThat(RecordingMockFactory.CREATORS.get("sixth")).isSameAs(Thread.currentThread());
+        }
+    }
+
+    @Test
+    public void mocksOfDistinctTypesAreCreatedConcurrentlyOnRequest() throws Exception {
+        RendezvousMockFactory.BOTH_TYPES.reset();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader testLoader = new URLClassLoader(new URL[0], previous)) {
+            thread.setContextClassLoader(testLoader);
+            LauncherFactory.create().execute(request()
+                .selectors(selectClass(MocksOfDistinctTypes.class))
+                .filters(EngineFilter.includeEngines("junit-jupiter"))
+                .configurationParameter("xmockito.mocks.parallelCreation.enabled", "true")
+                .build(), listener);
+
+            assertThat(listener.getSummary().getTestsSucceededCount()).isOne();
+            assertThat(RendezvousMockFactory.MET).containsExactlyInAnyOrder("fifth", "sixth");
+            assertThat(RendezvousMockFactory.CREATORS.get("fifth")).isNotSameAs(RendezvousMockFactory.CREATORS.get("sixth"));
+            assertThat(RendezvousMockFactory.CREATORS.get("otherSixth")).isSameAs(RendezvousMockFactory.CREATORS.get("sixth"));
+            assertThat(RendezvousMockFactory.CONTEXT_CLASS_LOADERS.values()).hasSize(3).containsOnly(testLoader);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @ExtendWith(XMockitoExtension.class)
+    static class MocksOfDistinctTypes {
+
+        @Mock(factory = RendezvousMockFactory.class)
+        private Fifth fifth;
+
+        @Mock(factory = RendezvousMockFactory.class)
+        private Sixth sixth;
+
+        @Mock(factory = RendezvousMockFactory.class)
+        private Sixth otherSixth;
+
+        @Test
+        void created() {
+        }
+    }
+
+    public static class RecordingMockFactory implements MockFactory {
+        static final Map<String, Thread> CREATORS = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> T createMock(Class<T> type, String name) {
+            CREATORS.put(name, Thread.currentThread());
+            return new ProxyMockFactory().createMock(type, name);
+        }
+    }
+
+    /**
+     * Waits for the first mock of the other type to be created as well, before creating the first mock of a type.
+     */
+    public static class RendezvousMockFactory implements MockFactory {
+        static final Map<String, Thread> CREATORS = new ConcurrentHashMap<>();
+        static final Map<String, ClassLoader> CONTEXT_CLASS_LOADERS = new ConcurrentHashMap<>();
+        static final Set<String> MET = ConcurrentHashMap.newKeySet();
+        static final CyclicBarrier BOTH_TYPES = new CyclicBarrier(2);
+
+        @Override
+        public <T> T createMock(Class<T> type, String name) {
+            CREATORS.put(name, Thread.currentThread());
+            CONTEXT_CLASS_LOADERS.put(name, Thread.currentThread().getContextClassLoader());
+            if (!name.startsWith("other")) {
+                try {
+                    BOTH_TYPES.await(2, TimeUnit.SECONDS);
+                    MET.add(name);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (BrokenBarrierException | TimeoutException e) {
+                    // Created alone, the test asserting the rendezvous fails
+                }
+            }
+            return new ProxyMockFactory().createMock(type, name);
+        }
+    }
+
+    public interface First {
+    }
+
+    public interface Second {
+    }
+
+    public interface Third {
+    }
+
+    public interface Fourth {
+    }
+
+    public interface Fifth {
+    }
+
+    public interface Sixth {
+    }
+
+    public record Subject(First first, Second second, Second otherSecond, Fourth fourth) {
+    }
+}
@@ -0,0 +1,87 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mockingDetails;
+
+@ExtendWith(XMockitoExtension.class)
+public class RewiringTest {
+
+    private String value = "value";
+
+    @Mock
+    private Dependency dependency;
+
+    @Instance
+    private Direct direct;
+
+    @Instance
+    private Transitive transitive;
+
+    @Instance
+    private Independent independent;
+
+    @Test
+    public void onlyDependentInstancesAreRebuilt(Wiring wiring) {
+        Direct originalDirect = direct;
+        Transitive originalTransitive = transitive;
+        Independent originalIndependent = independent;
+        Dependency replacement = new Dependency();
+
+        wiring.replace(Dependency.class, "dependency", replacement);
+
+        assertThat(dependency).isSameAs(replacement);
+        assertThat(direct).isNotSameAs(originalDirect);
+        assertThat(direct.dependency()).isSameAs(replacement);
+        assertThat(transitive).isNotSameAs(originalTransitive);
+        assertThat(transitive.direct()).isSameAs(direct);
+        assertThat(independent).isSameAs(originalIndependent);
+    }
+
+    @Test
+    public void predefinedValuesCanBeReplaced(Wiring wiring) {
+        wiring.replace(String.class, "value", "replaced");
+
+        assertThat(value).isEqualTo("replaced");
+        assertThat(independent.value()).isEqualTo("replaced");
+    }
+
+    @Test
+    public void unknownDependenciesCannotBeReplaced(Wiring wiring) {
+        assertThatThrownBy(() -> wiring.replace(Dependency.class, "unknown", new Dependency()))
+            .hasMessage("No wired dependency Dependency unknown to replace");
+    }
+
+    @Nested
+    class ReplacedInBeforeEach {
+
+        @Instance
+        private Transitive nested;
+
+        @BeforeEach
+        void replaceDependency(Wiring wiring) {
+            wiring.replace(Dependency.class, "dependency", new Dependency());
+        }
+
+        @Test
+        public void outerAndInnerDependentsAreRebuilt() {
+            assertThat(mockingDetails(dependency).isMock()).isFalse();
+            assertThat(direct.dependency()).isSameAs(dependency);
+            assertThat(nested.direct()).isSameAs(direct);
+        }
+    }
+
+    public record Direct(Dependency dependency) {
+    }
+
+    public record Transitive(Direct direct) {
+    }
+
+    public record Independent(String value) {
+    }
+}
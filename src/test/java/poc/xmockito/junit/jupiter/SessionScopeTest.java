@@ -0,0 +1,98 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static poc.xmockito.junit.jupiter.Instance.Scope.SESSION;
+
+@ExtendWith(XMockitoExtension.class)
+public class SessionScopeTest {
+    private static final AtomicInteger CONNECTIONS = new AtomicInteger();
+
+    private String url = "jdbc:session";
+
+    @Mock
+    private Listener listener;
+
+    @Instance(scope = SESSION)
+    private Connection connection;
+
+    @Instance(scope = SESSION)
+    private Client client;
+
+    @RepeatedTest(2)
+    public void instancesAreSharedAcrossTests() {
+        assertThat(CONNECTIONS).hasValue(1);
+        assertThat(connection.url()).isEqualTo("jdbc:session");
+        assertThat(connection.isClosed()).isFalse();
+    }
+
+    @Test
+    public void instancesDependingOnMocksAreNotShared() {
+        assertThat(client.listener()).isSameAs(listener);
+    }
+
+    @Nested
+    class OtherClassesWithTheSameWiring {
+
+        @Instance(scope = SESSION)
+        private Connection sameConnection;
+
+        @Test
+        public void shareTheInstance() {
+            assertThat(CONNECTIONS).hasValue(1);
+            assertThat(sameConnection).isSameAs(connection);
+        }
+    }
+
+    @Nested
+    class OtherClassesWithOtherValues {
+
+        private String url = "jdbc:other";
+
+        @Instance(scope = SESSION)
+        private Connection otherConnection;
+
+        @Test
+        public void getTheirOwnInstance() {
+            assertThat(otherConnection.url()).isEqualTo("jdbc:other");
+            assertThat(otherConnection).isNotSameAs(connection);
+        }
+    }
+
+    public interface Listener {
+    }
+
+    public record Client(Listener listener) {
+    }
+
+    public static class Connection implements AutoCloseable {
+        private final String url;
+        private boolean closed;
+
+        public Connection(String url) {
+            if (url.equals("jdbc:session")) {
+                CONNECTIONS.incrementAndGet();
+            }
+            this.url = url;
+        }
+
+        public String url() {
+            return url;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+import poc.xmockito.junit.jupiter.internal.TestCosts;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static poc.xmockito.junit.jupiter.Descriptors.test;
+
+public class ShardFilterTest {
+    private static final List<String> TEST_CLASSES = List.of("com.example.HeavyTest", "com.example.MediumTest", "com.example.LightTest", "com.example.TinyTest");
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void recordCosts() {
+        record("com.example.HeavyTest", 600, 0);
+        record("com.example.MediumTest", 200, 100);
+        record("com.example.MediumTest$Nested", 100, 0);
+        record("com.example.LightTest", 150, 50);
+        record("com.example.TinyTest", 0, 100);
+    }
+
+    @Test
+    void nestedClassesAddUpToTheirTopLevelClass() {
+        assertThat(TestCosts.costsByTestClass(directory)).containsExactlyInAnyOrderEntriesOf(Map.of(
+            "com.example.HeavyTest", 600L,
+            "com.example.MediumTest", 400L,
+            "com.example.LightTest", 200L,
+            "com.example.TinyTest", 100L));
+    }
+
+    @Test
+    void classesAreSpreadByCost() {
+        assertThat(TestCosts.partition(TestCosts.costsByTestClass(directory), 2)).containsExactlyInAnyOrderEntriesOf(Map.of(
+            "com.example.HeavyTest", 0,
+            "com.example.MediumTest", 1,
+            "com.example.LightTest", 1,
+            "com.example.TinyTest", 0));
+    }
+
+    @Test
+    void everyClassRunsInExactlyOneShard() {
+        List<String> unknown = List.of("com.example.UnknownTest", "com.example.OtherUnknownTest");
+        for (String testClass : concat(TEST_CLASSES, unknown)) {
+            long shards = IntStream.range(0, 3).filter(index -> filter(index, 3).apply(test(testClass)).included()).count();
+            assertThat(shards).as(testClass).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void everythingRunsWithoutShards() {
+        assertThat(TEST_CLASSES).allMatch(testClass -> filter(0, 1).apply(test(testClass)).included());
+    }
+
+    @Test
+    void shardIndexMustBeWithinTheShardCount() {
+        assertThatThrownBy(() -> filter(2, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void record(String testClass, long setupNanos, long executionNanos) {
+        TestCosts.Recorder recorder = new TestCosts.Recorder(directory, testClass);
+        recorder.record(setupNanos, executionNanos);
+        recorder.close();
+    }
+
+    private ShardFilter filter(int index, int count) {
+        Map<String, String> parameters = Map.of(
+            "xmockito.shard.index", String.valueOf(index),
+            "xmockito.shard.count", String.valueOf(count),
+            "xmockito.cost.directory", directory.toString());
+        return new ShardFilter(new Configuration(key -> Optional.ofNullable(parameters.get(key))));
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+}
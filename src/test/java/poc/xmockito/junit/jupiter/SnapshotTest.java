@@ -0,0 +1,77 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(XMockitoExtension.class)
+public class SnapshotTest {
+    private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+    private String prefix = "entry-";
+
+    @Mock
+    private Listener listener;
+
+    @Instance(snapshot = true)
+    private Catalog catalog;
+
+    @RepeatedTest(3)
+    public void instanceIsConstructedOnceAndRestoredForEveryTest() {
+        assertThat(CONSTRUCTIONS).hasValue(1);
+        assertThat(catalog.entries()).containsExactly("entry-0", "entry-1");
+
+        catalog.add("entry-2");
+
+        assertThat(catalog.entries()).hasSize(3);
+    }
+
+    @RepeatedTest(2)
+    public void wiredDependenciesAreBoundToTheCurrentTest() {
+        assertThat(CONSTRUCTIONS).hasValue(1);
+        assertThat(mockingDetails(catalog.listener()).isMock()).isTrue();
+        assertThat(catalog.listener()).isSameAs(listener);
+
+        catalog.add("entry-2");
+
+        verify(listener).added("entry-2");
+    }
+
+    public interface Listener {
+        void added(String entry);
+    }
+
+    public static class Catalog implements Serializable {
+        private final List<String> entries = new ArrayList<>();
+        private final Listener listener;
+
+        public Catalog(String prefix, Listener listener) {
+            CONSTRUCTIONS.incrementAndGet();
+            this.listener = listener;
+            for (int index = 0; index < 2; index++) {
+                entries.add(prefix + index);
+            }
+        }
+
+        public void add(String entry) {
+            entries.add(entry);
+            listener.added(entry);
+        }
+
+        public List<String> entries() {
+            return entries;
+        }
+
+        public Listener listener() {
+            return listener;
+        }
+    }
+}
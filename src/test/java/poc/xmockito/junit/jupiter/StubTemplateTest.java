@@ -0,0 +1,85 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(XMockitoExtension.class)
+public class StubTemplateTest {
+    private static final AtomicInteger TEMPLATE_RUNS = new AtomicInteger();
+
+    @Mock
+    private Repository repository;
+
+    @Instance
+    private Subject subject;
+
+    @StubTemplate
+    void stubRepository() {
+        TEMPLATE_RUNS.incrementAndGet();
+        when(repository.count()).thenReturn(3);
+        when(repository.find("a")).thenReturn("A");
+        when(repository.find(eq("b"), anyInt())).thenReturn("B");
+        when(repository.next()).thenReturn(1, 2);
+    }
+
+    @RepeatedTest(3)
+    public void templateIsRunOnceAndAnsweredByEveryTest() {
+        assertThat(TEMPLATE_RUNS).hasValue(1);
+        assertThat(repository.count()).isEqualTo(3);
+        assertThat(repository.find("a")).isEqualTo("A");
+        assertThat(repository.find("b", 42)).isEqualTo("B");
+        assertThat(repository.find("c")).isNull();
+    }
+
+    @RepeatedTest(2)
+    public void instancesSeeTheTemplateWhenConstructed() {
+        assertThat(TEMPLATE_RUNS).hasValue(1);
+        assertThat(subject.initialCount()).isEqualTo(3);
+    }
+
+    @RepeatedTest(2)
+    public void everyTestGetsAllConsecutiveAnswers() {
+        assertThat(repository.next()).isEqualTo(1);
+        assertThat(repository.next()).isEqualTo(2);
+        assertThat(repository.next()).isEqualTo(2);
+    }
+
+    @Test
+    public void testsCanStillOverrideAndVerify() {
+        when(repository.find("a")).thenReturn("overridden");
+
+        assertThat(repository.find("a")).isEqualTo("overridden");
+        verify(repository).find("a");
+    }
+
+    public interface Repository {
+        int count();
+
+        String find(String key);
+
+        String find(String key, int version);
+
+        int next();
+    }
+
+    public static class Subject {
+        private final int initialCount;
+
+        public Subject(Repository repository) {
+            this.initialCount = repository.count();
+        }
+
+        public int initialCount() {
+            return initialCount;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+
+public class TestDaemonTest {
+    // Filled by the tests compiled into the reloaded directories, which see this class through the parent class loader
+    public static final List<List<Object>> OBSERVED = new CopyOnWriteArrayList<>();
+
+    private static final String GREETING = """
+        package reloaded;
+
+        public class Greeting {
+            public String text() {
+                return "%s";
+            }
+        }
+        """;
+    private static final String GREETING_TEST = """
+        package reloaded;
+
+        import org.junit.jupiter.api.Test;
+        import org.junit.jupiter.api.extension.ExtendWith;
+        import poc.xmockito.junit.jupiter.Mock;
+        import poc.xmockito.junit.jupiter.TestDaemonTest;
+        import poc.xmockito.junit.jupiter.XMockitoExtension;
+        import poc.xmockito.junit.jupiter.internal.WiringPlan;
+
+        import java.util.List;
+
+        @ExtendWith(XMockitoExtension.class)
+        public class GreetingTest {
+            @Mock
+            private Greeting mocked;
+
+            @Test
+            void greets() {
+                TestDaemonTest.OBSERVED.add(List.of(mocked.getClass(), WiringPlan.of(getClass())));
+                String text = new Greeting().text();
+                if (!text.equals("hello")) {
+                    throw new AssertionError("expected hello but greeted with " + text);
+                }
+            }
+        }
+        """;
+    private static final String FAILING_TEST = """
+        package reloaded;
+
+        import org.junit.jupiter.api.Test;
+
+        public class FailingTest {
+            @Test
+            void failing() {
+                throw new AssertionError("expected failure");
+            }
+        }
+        """;
+
+    @TempDir
+    Path directory;
+
+    private TestDaemon daemon;
+    private CompletableFuture<Void> serving;
+    private int revision;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void start() throws IOException {
+        OBSERVED.clear();
+        Map<String, String> parameters = Map.of(
+            "xmockito.daemon.port", "0",
+            "xmockito.daemon.classes", directory.resolve("classes").toString(),
+            "xmockito.daemon.testClasses", directory.resolve("test-classes").toString(),
+            "xmockito.daemon.tokenFile", tokenFile().toString());
+        daemon = new TestDaemon(new Configuration(key -> Optional.ofNullable(parameters.get(key))));
+        serving = CompletableFuture.runAsync(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        assertThat(send("stop")).isZero();
+        serving.get(5, TimeUnit.SECONDS);
+        daemon.close();
+        assertThat(tokenFile()).doesNotExist();
+    }
+
+    @Test
+    void testsRunInTheDaemon() throws IOException {
+        assertThat(send(Fixture.class.getName())).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("1 tests successful", "0 tests failed");
+    }
+
+    @Test
+    void subsequentRunsReuseTheDaemon() throws IOException {
+        compile("test-classes", "FailingTest", FAILING_TEST);
+
+        assertThat(send(Fixture.class.getName() + "#mocksAreWired")).isZero();
+        assertThat(send("reloaded.FailingTest")).isOne();
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("1 tests failed", "expected failure");
+    }
+
+    @Test
+    void changedClassesAreReloaded() throws IOException {
+        compile("classes", "Greeting", GREETING.formatted("hello"));
+        compile("test-classes", "GreetingTest", GREETING_TEST);
+        assertThat(send("reloaded.GreetingTest")).isZero();
+
+        compile("classes", "Greeting", GREETING.formatted("goodbye"));
+        assertThat(send("reloaded.GreetingTest")).isOne();
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("expected hello but greeted with goodbye");
+    }
+
+    @Test
+    void unchangedClassesStayWarm() throws IOException {
+        compile("classes", "Greeting", GREETING.formatted("hello"));
+        compile("test-classes", "GreetingTest", GREETING_TEST);
+        assertThat(send("reloaded.GreetingTest")).isZero();
+        assertThat(send("reloaded.GreetingTest")).isZero();
+
+        // Only the test class changed, the mock class of the production class is kept
+        compile("test-classes", "GreetingTest", GREETING_TEST);
+        assertThat(send("reloaded.GreetingTest")).isZero();
+
+        assertThat(OBSERVED).hasSize(3);
+        assertThat(OBSERVED.get(1).get(0)).isSameAs(OBSERVED.get(0).get(0));
+        assertThat(OBSERVED.get(1).get(1)).isSameAs(OBSERVED.get(0).get(1));
+        assertThat(OBSERVED.get(2).get(0)).isSameAs(OBSERVED.get(0).get(0));
+        assertThat(OBSERVED.get(2).get(1)).isNotSameAs(OBSERVED.get(0).get(1));
+    }
+
+    @Test
+    void requestsWithoutTheTokenAreRejected() throws IOException {
+        assertThat(TestDaemon.send(daemon.port(), "guessed", List.of(Fixture.class.getName()), new PrintStream(output, true, StandardCharsets.UTF_8)))
+            .isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("Rejected a request without the token").doesNotContain("tests successful");
+        if (Files.getFileStore(tokenFile()).supportsFileAttributeView("posix")) {
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile()))).isEqualTo("rw-------");
+        }
+    }
+
+    private int send(String... arguments) throws IOException {
+        return TestDaemon.send(daemon.port(), TestDaemon.readToken(tokenFile()), List.of(arguments), new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    private Path tokenFile() {
+        return directory.resolve("daemon.token");
+    }
+
+    /**
+     * Compiles the source into one of the reloaded directories, dated a second later than the previous compilation
+     * so the change is noticed whatever the resolution of the file system's timestamps.
+     */
+    private void compile(String output, String simpleName, String source) throws IOException {
+        Path sourceFile = Files.createDirectories(directory.resolve("sources/reloaded")).resolve(simpleName + ".java");
+        Files.writeString(sourceFile, source);
+        Path classes = Files.createDirectories(directory.resolve(output));
+        String classpath = System.getProperty("java.class.path") + File.pathSeparator + directory.resolve("classes");
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, "-d", classes.toString(), "-cp", classpath, sourceFile.toString()))
+            .isZero();
+        FileTime modified = FileTime.from(Instant.now().plusSeconds(++revision));
+        try (Stream<Path> compiled = Files.walk(classes)) {
+            for (Path file : (Iterable<Path>) compiled.filter(Files::isRegularFile)::iterator) {
+                Files.setLastModifiedTime(file, modified);
+            }
+        }
+    }
+
+    @ExtendWith(XMockitoExtension.class)
+    public static class Fixture {
+        @Mock
+        private Dependency dependency;
+
+        @Test
+        void mocksAreWired() {
+            assertThat(mockingDetails(dependency).isMock()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.core.LauncherFactory;
+import poc.comparison.domain.CustomerRegistrationService;
+import poc.comparison.domain.EmailAddressValidator;
+import poc.comparison.domain.MailComposer;
+import poc.comparison.domain.MailSender;
+import poc.comparison.xmockito.CustomerRegistrationServiceXMockitoTest;
+import poc.xmockito.junit.jupiter.internal.Configuration;
+import poc.xmockito.junit.jupiter.internal.TestImpact;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static poc.xmockito.junit.jupiter.Descriptors.test;
+
+public class TestImpactFilterTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void recordImpact() {
+        TestImpact.record(directory, "com.example.OrderServiceTest", Set.of(String.class, Map.Entry.class), Set.of(), Set.of(Dependency.class));
+        TestImpact.record(directory, "com.example.InvoiceServiceTest", Set.of(Integer.class), Set.of(), Set.of(String.class));
+    }
+
+    @Test
+    void everythingRunsWithoutChangedClasses() {
+        assertThat(filter("").apply(test("com.example.InvoiceServiceTest")).included()).isTrue();
+    }
+
+    @Test
+    void testsWiringAChangedClassRun() {
+        TestImpactFilter filter = filter("java.lang.String");
+
+        assertThat(filter.apply(test("com.example.OrderServiceTest")).included()).isTrue();
+        assertThat(filter.apply(test("com.example.InvoiceServiceTest")).excluded()).isTrue();
+    }
+
+    @Test
+    void mockedClassesDoNotSelectTests() {
+        assertThat(filter(Dependency.class.getName()).apply(test("com.example.OrderServiceTest")).excluded()).isTrue();
+    }
+
+    @Test
+    void nestedClassesCountAsTheirTopLevelClass() {
+        TestImpactFilter filter = filter("java.util.Map");
+
+        assertThat(filter.apply(test("com.example.OrderServiceTest")).included()).isTrue();
+    }
+
+    @Test
+    void changedTestClassesRun() {
+        assertThat(filter("com.example.InvoiceServiceTest").apply(test("com.example.InvoiceServiceTest")).included()).isTrue();
+    }
+
+    @Test
+    void testsWithoutRecordedWiringRun() {
+        assertThat(filter("java.lang.String").apply(test("com.example.UnknownTest")).included()).isTrue();
+    }
+
+    @Test
+    void recordedWiringSelectsTheTestsOfChangedCollaborators() {
+        LauncherFactory.create().execute(request()
+            .selectors(selectClass(CustomerRegistrationServiceXMockitoTest.class))
+            .filters(EngineFilter.includeEngines("junit-jupiter"))
+            .configurationParameter("xmockito.impact.recording.enabled", "true")
+            .configurationParameter("xmockito.impact.directory", directory.toString())
+            .build());
+        String testClass = CustomerRegistrationServiceXMockitoTest.class.getName();
+
+        assertThat(filter(CustomerRegistrationService.class.getName()).apply(test(testClass)).included()).isTrue();
+        assertThat(filter(MailComposer.class.getName()).apply(test(testClass)).included()).isTrue();
+        assertThat(filter(EmailAddressValidator.class.getName()).apply(test(testClass)).included()).isTrue();
+        assertThat(filter(MailSender.class.getName()).apply(test(testClass)).excluded()).isTrue();
+    }
+
+    private TestImpactFilter filter(String changedClasses) {
+        Map<String, String> parameters = Map.of(
+            "xmockito.impact.changedClasses", changedClasses,
+            "xmockito.impact.directory", directory.toString());
+        return new TestImpactFilter(new Configuration(key -> Optional.ofNullable(parameters.get(key))));
+    }
+}
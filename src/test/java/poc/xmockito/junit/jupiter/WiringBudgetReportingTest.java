@@ -0,0 +1,113 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+public class WiringBudgetReportingTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void exceededBudgetsArePublishedAsReportEntriesOfTheTest() {
+        List<String> warnings = new CopyOnWriteArrayList<>();
+
+        LauncherFactory.create().execute(request()
+            .selectors(selectClass(OverBudget.class))
+            .filters(EngineFilter.includeEngines("junit-jupiter"))
+            .configurationParameter("xmockito.budget.mode", "WARN")
+            .configurationParameter("xmockito.budget.directory", directory.toString())
+            .build(), new TestExecutionListener() {
+            @Override
+            public void reportingEntryPublished(TestIdentifier identifier, ReportEntry entry) {
+                if (identifier.isTest() && entry.getKeyValuePairs().containsKey(XMockitoExtension.BUDGET_WARNING)) {
+                    warnings.add(entry.getKeyValuePairs().get(XMockitoExtension.BUDGET_WARNING));
+                }
+            }
+        });
+
+        assertThat(warnings).singleElement().asString()
+            .startsWith("Wiring wired() of " + OverBudget.class.getName())
+            .endsWith("exceeding its budget of 0 ms and -1 bytes");
+    }
+
+    @Test
+    public void waitingForTestsSharingAnObjectIsNotCharged() {
+        List<String> warnings = new CopyOnWriteArrayList<>();
+
+        LauncherFactory.create().execute(request()
+            .selectors(selectClass(SharingCounter.class))
+            .filters(EngineFilter.includeEngines("junit-jupiter"))
+            .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+            .configurationParameter("junit.jupiter.execution.parallel.mode.default", "concurrent")
+            .configurationParameter("xmockito.budget.mode", "WARN")
+            .configurationParameter("xmockito.budget.directory", directory.toString())
+            .build(), new TestExecutionListener() {
+            @Override
+            public void reportingEntryPublished(TestIdentifier identifier, ReportEntry entry) {
+                if (entry.getKeyValuePairs().containsKey(XMockitoExtension.BUDGET_WARNING)) {
+                    warnings.add(entry.getKeyValuePairs().get(XMockitoExtension.BUDGET_WARNING));
+                }
+            }
+        });
+
+        assertThat(SharingCounter.RAN).hasValue(2);
+        assertThat(warnings).isEmpty();
+    }
+
+    @ExtendWith(XMockitoExtension.class)
+    @WiringBudget(maxMillis = 0)
+    static class OverBudget {
+        @Mock
+        private Dependency dependency;
+
+        @Test
+        void wired() {
+        }
+    }
+
+    @ExtendWith(XMockitoExtension.class)
+    @WiringBudget(maxMillis = 250)
+    static class SharingCounter {
+        static final AtomicInteger RAN = new AtomicInteger();
+
+        private static Counter counter = new Counter();
+
+        @Instance
+        private Service service;
+
+        @Test
+        void first() throws InterruptedException {
+            RAN.incrementAndGet();
+            Thread.sleep(500);
+        }
+
+        @Test
+        void second() throws InterruptedException {
+            RAN.incrementAndGet();
+            Thread.sleep(500);
+        }
+    }
+
+    public static class Counter {
+        private int count;
+    }
+
+    public record Service(Counter counter) {
+    }
+}
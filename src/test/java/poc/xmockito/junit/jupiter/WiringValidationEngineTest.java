@@ -0,0 +1,92 @@
+package poc.xmockito.junit.jupiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+public class WiringValidationEngineTest {
+
+    @Test
+    public void nothingIsDiscoveredUnlessEnabled() {
+        LauncherDiscoveryRequest discovery = request()
+            .selectors(selectClass(ValidFixture.class))
+            .filters(EngineFilter.includeEngines(WiringValidationEngine.ENGINE_ID))
+            .build();
+
+        TestPlan plan = LauncherFactory.create().discover(discovery);
+
+        assertThat(plan.countTestIdentifiers(TestIdentifier::isTest)).isZero();
+    }
+
+    @Test
+    public void everyClassIsReportedAsOneTestAndFailuresAsOneReportEntry() {
+        LauncherDiscoveryRequest discovery = request()
+            .selectors(selectClass(ValidFixture.class), selectClass(InvalidFixture.class), selectClass(WiringValidationEngineTest.class))
+            .filters(EngineFilter.includeEngines(WiringValidationEngine.ENGINE_ID))
+            .configurationParameter(WiringValidationEngine.VALIDATION_ENABLED, "true")
+            .build();
+        Map<String, TestExecutionResult.Status> results = new LinkedHashMap<>();
+        List<ReportEntry> entries = new ArrayList<>();
+
+        LauncherFactory.create().execute(discovery, new TestExecutionListener() {
+            @Override
+            public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+                if (identifier.isTest()) {
+                    results.put(identifier.getParentIdObject().orElseThrow().getLastSegment().getValue(), result.getStatus());
+                }
+            }
+
+            @Override
+            public void reportingEntryPublished(TestIdentifier identifier, ReportEntry entry) {
+                entries.add(entry);
+            }
+        });
+
+        assertThat(results).containsExactly(
+            Map.entry(ValidFixture.class.getName(), TestExecutionResult.Status.SUCCESSFUL),
+            Map.entry(InvalidFixture.class.getName(), TestExecutionResult.Status.FAILED));
+        assertThat(entries).singleElement()
+            .extracting(entry -> entry.getKeyValuePairs().get(WiringValidationEngine.REPORT_KEY))
+            .asString()
+            .startsWith("1 of 2 classes failed" + System.lineSeparator() + InvalidFixture.class.getName());
+    }
+
+    @ExtendWith(XMockitoExtension.class)
+    static class ValidFixture {
+        private String value;
+
+        @Mock
+        private Dependency dependency;
+
+        @Instance
+        private Subject subject;
+    }
+
+    @ExtendWith(XMockitoExtension.class)
+    static class InvalidFixture {
+        @Mock
+        private Dependency dependency;
+
+        @Instance
+        private Subject subject;
+    }
+
+    public record Subject(String value, Dependency dependency) {
+    }
+}
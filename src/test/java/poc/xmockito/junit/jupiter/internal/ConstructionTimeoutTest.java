@@ -0,0 +1,153 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Instance;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConstructionTimeoutTest extends FieldAccessor {
+    static final CountDownLatch NEVER = new CountDownLatch(1);
+    static final Object LOCK = new Object();
+    static final CountDownLatch LATE_CLOSED = new CountDownLatch(1);
+
+    public record Stuck() {
+        public Stuck {
+            try {
+                NEVER.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public record Blocked() {
+        public Blocked {
+            synchronized (LOCK) {
+                LOCK.hashCode();
+            }
+        }
+    }
+
+    public record Failing() {
+        public Failing {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    public record Quick(String value) {
+    }
+
+    public record Late() implements AutoCloseable {
+        public Late {
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(400);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        public void close() {
+            LATE_CLOSED.countDown();
+        }
+    }
+
+    public record Loading(ClassLoader contextClassLoader) {
+        public Loading() {
+            this(Thread.currentThread().getContextClassLoader());
+        }
+    }
+
+    @Instance
+    private Stuck stuck;
+    @Instance
+    private Blocked blocked;
+    @Instance
+    private Failing failing;
+    @Instance
+    private Quick quick;
+    @Instance
+    private Late late;
+    @Instance(parameterTypes = {})
+    private Loading loading;
+
+    private String value = "quick";
+
+    final WiringEngine context = new WiringEngine(new Snapshots(), new SessionInstances(), Duration.ofMillis(200));
+
+    @AfterEach
+    void release() {
+        context.clear();
+    }
+
+    @Test
+    void stuckConstructorsFailWithADumpOfTheStuckThread() {
+        assertThatThrownBy(() -> context.wireInstances(List.of(declaredField("stuck"))))
+            .isInstanceOf(WiringException.class)
+            .hasMessageStartingWith("Construction of Field[Stuck stuck] -> new Stuck() did not complete within 200 ms")
+            .hasMessageContaining("\"xmockito-construction-")
+            .hasMessageContaining("java.util.concurrent.CountDownLatch.await(")
+            .hasMessageContaining(Stuck.class.getName() + ".<init>(");
+    }
+
+    @Test
+    void blockedConstructorsNameTheLockOwner() throws InterruptedException {
+        synchronized (LOCK) {
+            assertThatThrownBy(() -> context.wireInstances(List.of(declaredField("blocked"))))
+                .isInstanceOf(WiringException.class)
+                .hasMessageStartingWith("Construction of Field[Blocked blocked] -> new Blocked() did not complete within 200 ms")
+                .hasMessageContaining("BLOCKED on java.lang.Object@")
+                .hasMessageContaining("owned by \"" + Thread.currentThread().getName() + "\"");
+        }
+    }
+
+    @Test
+    void constructorFailuresAreReportedAsBefore() {
+        assertThatThrownBy(() -> context.wireInstances(List.of(declaredField("failing"))))
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Unable to instantiate Field[Failing failing]")
+            .hasRootCauseMessage("failing");
+    }
+
+    @Test
+    void constructorsCompletingInTimeAreWired() {
+        context.register(declaredField("value"), value);
+
+        context.wireInstances(List.of(declaredField("quick")));
+
+        assertThat(context.lookup(Quick.class, "quick")).isEqualTo(new Quick("quick"));
+    }
+
+    @Test
+    void constructionsCompletingLateAreClosed() throws InterruptedException {
+        assertThatThrownBy(() -> context.wireInstances(List.of(declaredField("late"))))
+            .isInstanceOf(WiringException.class)
+            .hasMessageStartingWith("Construction of Field[Late late] -> new Late() did not complete within 200 ms");
+
+        assertThat(LATE_CLOSED.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void constructionsSeeTheContextClassLoaderOfTheTest() {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        ClassLoader testClassLoader = new URLClassLoader(new URL[0], previous);
+        thread.setContextClassLoader(testClassLoader);
+        try {
+            context.wireInstances(List.of(declaredField("loading")));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+
+        assertThat(((Loading) context.lookup(Loading.class, "loading")).contextClassLoader()).isSameAs(testClassLoader);
+    }
+}
@@ -0,0 +1,93 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.mockito.listeners.StubbingLookupEvent;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InvocationMetricsTest extends FieldAccessor {
+
+    private Supplier<String> cold;
+    private List<String> hot;
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final InvocationMetrics metrics = new InvocationMetrics(new PrintStream(out, true));
+
+    @Test
+    void invocationsAreCountedPerMockAndMethod() {
+        Supplier<?> cold = mock(Supplier.class, metrics.settingsFor(getClass(), declaredField("cold")));
+        List<?> hot = mock(List.class, metrics.settingsFor(getClass(), declaredField("hot")));
+
+        cold.get();
+        for (int i = 0; i < 1000; i++) {
+            hot.size();
+            hot.get(i);
+        }
+
+        assertThat(metrics.report())
+            .contains("InvocationMetricsTest.cold (Supplier)  1 invocations")
+            .contains("InvocationMetricsTest.hot (List)  2000 invocations")
+            .contains("    size()  1000 invocations")
+            .contains("    get(int)  1000 invocations");
+    }
+
+    @Test
+    void mocksAreRankedByTimeSpentInAnswers() {
+        @SuppressWarnings("unchecked")
+        Supplier<String> cold = mock(Supplier.class, metrics.settingsFor(getClass(), declaredField("cold")));
+        List<?> hot = mock(List.class, metrics.settingsFor(getClass(), declaredField("hot")));
+        when(hot.isEmpty()).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return true;
+        });
+
+        cold.get();
+        hot.isEmpty();
+
+        assertThat(metrics.report()).containsSubsequence("InvocationMetricsTest.hot", "InvocationMetricsTest.cold");
+    }
+
+    @Test
+    void verificationsAreNotCounted() {
+        @SuppressWarnings("unchecked")
+        Supplier<String> cold = mock(Supplier.class, metrics.settingsFor(getClass(), declaredField("cold")));
+
+        cold.get();
+        verify(cold).get();
+
+        assertThat(metrics.report()).contains("InvocationMetricsTest.cold (Supplier)  1 invocations");
+    }
+
+    @Test
+    void lookupsWithoutAReportAreIgnored() {
+        List<?> hot = mock(List.class, metrics.settingsFor(getClass(), declaredField("hot")));
+        StubbingLookupEvent unreported = mock(StubbingLookupEvent.class);
+        when(unreported.getInvocation()).thenReturn(mock(Invocation.class));
+        mockingDetails(hot).getMockCreationSettings().getStubbingLookupListeners().forEach(listener -> listener.onStubbingLookup(unreported));
+
+        hot.size();
+        hot.size();
+
+        assertThat(metrics.report()).contains("    size()  2 invocations");
+    }
+
+    @Test
+    void reportIsPrintedWhenClosed() {
+        mock(Supplier.class, metrics.settingsFor(getClass(), declaredField("cold"))).get();
+
+        metrics.close();
+
+        assertThat(out.toString()).startsWith("XMockito mock invocation hot spots");
+    }
+}
@@ -0,0 +1,70 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Instance;
+
+import java.lang.reflect.Executable;
+import java.util.List;
+
+import static java.util.Arrays.stream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParameterNamesTest extends FieldAccessor {
+
+    public static class Subject {
+        private final String first;
+        private final String second;
+
+        public Subject(String first, String second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public Subject(long wide, double alsoWide, int[] narrow, long[] array, String last) {
+            this(last, last);
+        }
+
+        public static void factory(double wide, String name) {
+        }
+    }
+
+    public class Inner {
+        public Inner(String name) {
+        }
+    }
+
+    private String first = "first";
+    private String second = "second";
+    @Instance(parameterTypes = {String.class, String.class})
+    private Subject subject;
+
+    @Test
+    void parametersAreNamedWithoutCompilingWithParameters() throws NoSuchMethodException {
+        assertThat(Subject.class.getConstructor(String.class, String.class).getParameters()[0].isNamePresent()).isFalse();
+
+        assertThat(names(Subject.class.getConstructor(String.class, String.class))).containsExactly("first", "second");
+        assertThat(names(Subject.class.getConstructor(long.class, double.class, int[].class, long[].class, String.class)))
+            .containsExactly("wide", "alsoWide", "narrow", "array", "last");
+        assertThat(names(Subject.class.getMethod("factory", double.class, String.class))).containsExactly("wide", "name");
+        assertThat(names(Inner.class.getConstructor(ParameterNamesTest.class, String.class))).endsWith("name");
+    }
+
+    @Test
+    void sameTypedParametersAreResolvedByTheirNames() {
+        WiringEngine context = new WiringEngine();
+        context.register(declaredField("first"), first);
+        context.register(declaredField("second"), second);
+
+        context.wireInstances(List.of(declaredField("subject")));
+
+        Subject wired = (Subject) context.lookup(Subject.class, "subject");
+        assertThat(wired.first).isEqualTo("first");
+        assertThat(wired.second).isEqualTo("second");
+    }
+
+    private static List<String> names(Executable executable) {
+        return stream(executable.getParameters()).map(ParameterNames::nameOf).toList();
+    }
+
+}
@@ -0,0 +1,144 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Recorded;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RecordingsTest extends FieldAccessor {
+
+    public interface Parser {
+        List<String> parse(String text, char... separators);
+
+        int length(String text);
+
+        Object tokenizer(String text);
+    }
+
+    static class SlowParser implements Parser {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public List<String> parse(String text, char... separators) {
+            calls.incrementAndGet();
+            return List.of(text.split("[" + new String(separators) + "]"));
+        }
+
+        @Override
+        public int length(String text) {
+            calls.incrementAndGet();
+            if (text.isEmpty()) {
+                throw new IllegalArgumentException("empty");
+            }
+            return text.length();
+        }
+
+        @Override
+        public Object tokenizer(String text) {
+            return new Object();
+        }
+    }
+
+    @Recorded
+    private Parser parser;
+
+    @Recorded
+    private SlowParser notAnInterface;
+
+    @TempDir
+    Path directory;
+
+    SlowParser real;
+
+    @BeforeEach
+    void recordCalls() {
+        real = new SlowParser();
+        Recordings recording = new Recordings(directory, RecordingsTest.class, Recordings.Mode.RECORD);
+        Parser recorder = (Parser) recording.standIn(declaredField("parser"), real);
+
+        assertThat(recorder.parse("a,b;c", ',', ';')).containsExactly("a", "b", "c");
+        assertThat(recorder.length("abc")).isEqualTo(3);
+        assertThatThrownBy(() -> recorder.length("")).isInstanceOf(IllegalArgumentException.class);
+        recording.close();
+    }
+
+    @Test
+    void replayedCallsAnswerWithoutTheRealCollaborator() {
+        Parser replayed = (Parser) new Recordings(directory, RecordingsTest.class, Recordings.Mode.REPLAY).standIn(declaredField("parser"), real);
+
+        assertThat(replayed.parse("a,b;c", ',', ';')).containsExactly("a", "b", "c");
+        assertThat(replayed.length("abc")).isEqualTo(3);
+        assertThatThrownBy(() -> replayed.length("")).isInstanceOf(IllegalArgumentException.class).hasMessage("empty");
+        assertThat(replayed).hasToString("parser");
+        assertThat(real.calls).hasValue(3);
+    }
+
+    @Test
+    void unrecordedCallsFail() {
+        Parser replayed = (Parser) new Recordings(directory, RecordingsTest.class, Recordings.Mode.REPLAY).standIn(declaredField("parser"), real);
+
+        assertThatThrownBy(() -> replayed.length("abcd"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("No recorded call length[abcd] on parser");
+    }
+
+    @Test
+    void laterRecordingsAreMergedIntoEarlierOnes() {
+        Recordings recording = new Recordings(directory, RecordingsTest.class, Recordings.Mode.RECORD);
+        ((Parser) recording.standIn(declaredField("parser"), real)).length("abcd");
+        recording.close();
+
+        Parser replayed = (Parser) new Recordings(directory, RecordingsTest.class, Recordings.Mode.REPLAY).standIn(declaredField("parser"), real);
+        assertThat(replayed.length("abc")).isEqualTo(3);
+        assertThat(replayed.length("abcd")).isEqualTo(4);
+    }
+
+    @Test
+    void realValuesAreUsedWithoutRecordingOrWhenTurnedOff() {
+        assertThat(new Recordings(directory.resolve("empty"), RecordingsTest.class, Recordings.Mode.REPLAY).standIn(declaredField("parser"), real)).isSameAs(real);
+        assertThat(new Recordings(directory, RecordingsTest.class, Recordings.Mode.OFF).standIn(declaredField("parser"), real)).isSameAs(real);
+    }
+
+    @Test
+    void onlyInterfacesCanBeRecorded() {
+        assertThatThrownBy(() -> new Recordings(directory, RecordingsTest.class, Recordings.Mode.RECORD).standIn(declaredField("notAnInterface"), real))
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Field[SlowParser notAnInterface] is recorded but is not an interface");
+    }
+
+    @Test
+    void standInsAreNotWrappedAgain() {
+        Recordings recording = new Recordings(directory, RecordingsTest.class, Recordings.Mode.RECORD);
+        Object recorder = recording.standIn(declaredField("parser"), real);
+
+        assertThat(recording.standIn(declaredField("parser"), recorder)).isSameAs(recorder);
+    }
+
+    @Test
+    void callsWhichCannotBeWrittenFailWhenRecorded() {
+        Recordings recording = new Recordings(directory, RecordingsTest.class, Recordings.Mode.RECORD);
+        Parser recorder = (Parser) recording.standIn(declaredField("parser"), real);
+
+        assertThatThrownBy(() -> recorder.tokenizer("abc"))
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Unable to record the call tokenizer of Field[Parser parser], its arguments and outcome must be serializable");
+        recorder.length("abcd");
+        recording.close();
+
+        Parser replayed = (Parser) new Recordings(directory, RecordingsTest.class, Recordings.Mode.REPLAY).standIn(declaredField("parser"), real);
+        assertThat(replayed.length("abcd")).isEqualTo(4);
+    }
+
+    @Test
+    void relativeDirectoriesAreResolvedAgainstTheModule() {
+        assertThat(Recordings.moduleDirectory(RecordingsTest.class).resolve("pom.xml")).isRegularFile();
+    }
+}
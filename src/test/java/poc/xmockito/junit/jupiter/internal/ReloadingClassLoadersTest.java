@@ -0,0 +1,71 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReloadingClassLoadersTest {
+    @TempDir
+    Path directory;
+
+    private ReloadingClassLoaders classLoaders;
+
+    @BeforeEach
+    void createClassFiles() throws IOException {
+        write("classes/com/example/Service.class", Instant.parse("2024-01-01T00:00:00Z"));
+        write("test-classes/com/example/ServiceTest.class", Instant.parse("2024-01-01T00:00:00Z"));
+        classLoaders = new ReloadingClassLoaders(getClass().getClassLoader(), List.of(directory.resolve("classes")), List.of(directory.resolve("test-classes")));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        classLoaders.close();
+    }
+
+    @Test
+    void classLoadersAreKeptWhileNothingChanges() {
+        ClassLoader first = classLoaders.current();
+
+        assertThat(classLoaders.current()).isSameAs(first);
+    }
+
+    @Test
+    void changedTestClassesOnlyReloadTheTestClasses() throws IOException {
+        ClassLoader first = classLoaders.current();
+
+        write("test-classes/com/example/ServiceTest.class", Instant.parse("2024-01-02T00:00:00Z"));
+        ClassLoader second = classLoaders.current();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getParent()).isSameAs(first.getParent());
+    }
+
+    @Test
+    void changedOrAddedClassesReloadEverything() throws IOException {
+        ClassLoader first = classLoaders.current();
+
+        write("classes/com/example/Repository.class", Instant.parse("2024-01-01T00:00:00Z"));
+        ClassLoader second = classLoaders.current();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getParent()).isNotSameAs(first.getParent());
+        assertThat(second.getParent().getParent()).isSameAs(getClass().getClassLoader());
+    }
+
+    private void write(String file, Instant modified) throws IOException {
+        Path path = directory.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[]{(byte) 0xCA, (byte) 0xFE});
+        Files.setLastModifiedTime(path, FileTime.from(modified));
+    }
+}
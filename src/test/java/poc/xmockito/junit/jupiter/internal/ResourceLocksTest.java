@@ -0,0 +1,99 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Instance;
+import poc.xmockito.junit.jupiter.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ResourceLocksTest extends FieldAccessor {
+    public record Immutable(String name) {
+    }
+
+    public static class Counter {
+        private int count;
+
+        public void increment() {
+            count++;
+        }
+    }
+
+    public record Service(Counter counter) {
+    }
+
+    public record Name(Immutable first, String last) {
+    }
+
+    private static Counter sharedCounter = new Counter();
+    private Counter counter = new Counter();
+
+    @Mock
+    private static Counter staticMock;
+
+    @Instance
+    private Service service;
+
+    @Instance(scope = Instance.Scope.SESSION)
+    private Service sessionService;
+
+    @Instance(scope = Instance.Scope.SESSION)
+    private Name sessionName;
+
+    final ResourceLocks locks = new ResourceLocks();
+
+    @Test
+    void mocksAndObjectsWithMutableFieldsAreLocked() {
+        assertThat(ResourceLocks.isMutable(mock(Immutable.class))).isTrue();
+        assertThat(ResourceLocks.isMutable(new Counter())).isTrue();
+        assertThat(ResourceLocks.isMutable(new ArrayList<>())).isTrue();
+        assertThat(ResourceLocks.isMutable(new Service(new Counter()))).isTrue();
+        assertThat(ResourceLocks.isMutable(new Immutable("immutable"))).isFalse();
+        assertThat(ResourceLocks.isMutable(new Name(new Immutable("first"), "last"))).isFalse();
+        assertThat(ResourceLocks.isMutable("immutable")).isFalse();
+
+        ResourceLocks.Held held = locks.acquire(List.of(new Counter(), new Immutable("immutable"), "immutable"));
+        assertThat(held.size()).isOne();
+        held.close();
+    }
+
+    @Test
+    void testsSharingAnObjectWaitForEachOther() throws Exception {
+        Counter shared = new Counter();
+        ResourceLocks.Held first = locks.acquire(List.of(shared));
+
+        CompletableFuture<ResourceLocks.Held> second = CompletableFuture.supplyAsync(() -> locks.acquire(List.of(new Counter(), shared)));
+        assertThat(second).failsWithin(200, TimeUnit.MILLISECONDS).withThrowableOfType(TimeoutException.class);
+
+        first.close();
+        first.close();
+        assertThat(second.get(5, TimeUnit.SECONDS).size()).isEqualTo(2);
+        second.get().close();
+    }
+
+    @Test
+    void staticFieldsAndSessionInstancesAreSharedBeforeWiring() {
+        assertThat(ResourceLocks.sharedBy(this, Set.of(Counter.class)))
+            .containsExactlyInAnyOrder(sharedCounter, ResourceLocksTest.class, Service.class);
+    }
+
+    @Test
+    void locksOfCollectedObjectsAreDropped() throws Exception {
+        locks.acquire(List.of(new Counter())).close();
+        for (int attempt = 0; attempt < 50 && locks.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            locks.acquire(List.of()).close();
+        }
+
+        assertThat(locks.size()).isZero();
+    }
+}
@@ -0,0 +1,60 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.Dependency;
+
+import java.lang.reflect.Executable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionInstancesTest {
+    private static final Executable CONSTRUCTOR = Connection.class.getConstructors()[0];
+
+    final SessionInstances instances = new SessionInstances();
+
+    @Test
+    void valuesAreComparedByEquality() {
+        Object shared = instances.share(fingerprint(new String("jdbc:session"), 42L), new Object());
+
+        assertThat(instances.lookup(fingerprint("jdbc:session", 42L))).isSameAs(shared);
+        assertThat(instances.lookup(fingerprint("jdbc:other", 42L))).isNull();
+    }
+
+    @Test
+    void otherArgumentsAreComparedByIdentity() {
+        Dependency dependency = new Dependency();
+        Object shared = instances.share(fingerprint(dependency), new Object());
+
+        assertThat(instances.lookup(fingerprint(dependency))).isSameAs(shared);
+        assertThat(instances.lookup(fingerprint(new Dependency()))).isNull();
+    }
+
+    @Test
+    void instancesAreEvictedAndClosedOnceTheirArgumentsAreCollected() throws InterruptedException {
+        Connection connection = new Connection();
+        instances.share(fingerprint(new Dependency()), connection);
+
+        for (int attempt = 0; attempt < 100 && !connection.closed.get(); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            instances.lookup(fingerprint("trigger eviction"));
+        }
+
+        assertThat(connection.closed).isTrue();
+    }
+
+    private static SessionInstances.Fingerprint fingerprint(Object... arguments) {
+        return new SessionInstances.Fingerprint(CONSTRUCTOR, List.of(), arguments);
+    }
+
+    public static class Connection implements AutoCloseable {
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.Dependency;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Instance;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnapshotsTest extends FieldAccessor {
+    private String prefix;
+    private Dependency dependency;
+
+    @Instance(snapshot = true)
+    private Catalog catalog;
+
+    @Instance(snapshot = true, injection = Instance.Injection.ALL)
+    private Registry registry;
+
+    final Snapshots snapshots = new Snapshots();
+
+    @Test
+    void onlyWiredReferencesAreRestoredFromTheCurrentWiring() {
+        Catalog captured = (Catalog) wire("entry-", new Dependency()).lookup(Catalog.class, "catalog");
+        Dependency current = new Dependency();
+
+        Catalog restored = (Catalog) wire("item-", current).lookup(Catalog.class, "catalog");
+
+        assertThat(restored).isNotSameAs(captured);
+        assertThat(restored.dependency()).isSameAs(current);
+        assertThat(restored.prefix()).isEqualTo("entry-");
+    }
+
+    @Test
+    void rebuiltInstancesAreConstructedInsteadOfRestored() {
+        WiringEngine engine = wire("entry-", new Dependency());
+
+        engine.replace(WiringGraph.Key.of(declaredField("prefix")), "item-");
+
+        assertThat(((Catalog) engine.lookup(Catalog.class, "catalog")).prefix()).isEqualTo("item-");
+    }
+
+    @Test
+    void snapshotsAreTakenOnceMembersAreInjected() {
+        wire("entry-", new Dependency(), "registry");
+        Dependency current = new Dependency();
+
+        Registry restored = (Registry) wire("item-", current, "registry").lookup(Registry.class, "registry");
+
+        assertThat(restored.prefix).isEqualTo("entry-");
+        assertThat(restored.dependency).isSameAs(current);
+    }
+
+    private WiringEngine wire(String prefix, Dependency dependency) {
+        return wire(prefix, dependency, "catalog");
+    }
+
+    private WiringEngine wire(String prefix, Dependency dependency, String instance) {
+        WiringEngine engine = new WiringEngine(snapshots, new SessionInstances(), Duration.ZERO);
+        engine.register(declaredField("prefix"), prefix);
+        engine.register(declaredField("dependency"), dependency);
+        engine.wireInstances(List.of(declaredField(instance)));
+        return engine;
+    }
+
+    public record Catalog(String prefix, Dependency dependency) implements Serializable {
+    }
+
+    public static class Registry implements Serializable {
+        private String prefix;
+        private Dependency dependency;
+    }
+}
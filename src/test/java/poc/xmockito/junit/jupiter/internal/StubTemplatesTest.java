@@ -0,0 +1,39 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StubTemplatesTest extends FieldAccessor {
+    private final Supplier supplier = mock(Supplier.class);
+
+    @Test
+    void statefulAnswersAreRejectedWhenRecorded() throws NoSuchMethodException {
+        StubTemplates templates = new StubTemplates();
+
+        assertThatThrownBy(() -> templates.record(this, List.of(StubTemplatesTest.class.getDeclaredMethod("answerWithTheTestInstance")), Map.of(declaredField("supplier"), supplier)))
+            .isInstanceOf(WiringException.class)
+            .hasMessageStartingWith("Stub template answers supplier.get(); of Field[Supplier supplier] with ")
+            .hasMessageEndingWith(", only returned values, thrown exceptions and real method calls are replayed by later tests");
+    }
+
+    @Test
+    void theMockitoVersionIsCheckedAgainstTheSupportedOne() {
+        assertThat(StubbingAnswers.mockitoVersion()).startsWith(StubbingAnswers.SUPPORTED_MAJOR_VERSION + ".");
+    }
+
+    void answerWithTheTestInstance() {
+        when(supplier.get()).thenAnswer(invocation -> this);
+    }
+
+    public interface Supplier {
+        Object get();
+    }
+}
@@ -0,0 +1,90 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poc.xmockito.junit.jupiter.WiringBudget;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WiringBudgetsTest {
+
+    @TempDir
+    Path directory;
+
+    @WiringBudget(maxMillis = 50)
+    static class Budgeted {
+        @Nested
+        class Inner {
+        }
+    }
+
+    static class Unbudgeted {
+    }
+
+    @Test
+    void classesWithoutBudgetHaveNone() {
+        assertThat(WiringBudgets.budgetFor(Unbudgeted.class, configuration(Map.of()))).isEmpty();
+    }
+
+    @Test
+    void annotatedValuesTakePrecedenceOverTheSuiteDefaults() {
+        Configuration defaults = configuration(Map.of("xmockito.budget.maxMillis", "10", "xmockito.budget.maxAllocatedBytes", "1024"));
+
+        assertThat(WiringBudgets.budgetFor(Unbudgeted.class, defaults)).contains(new WiringBudgets.Budget(10, 1024));
+        assertThat(WiringBudgets.budgetFor(Budgeted.class, defaults)).contains(new WiringBudgets.Budget(50, 1024));
+        assertThat(WiringBudgets.budgetFor(Budgeted.Inner.class, defaults)).contains(new WiringBudgets.Budget(50, 1024));
+    }
+
+    @Test
+    void exceedingTheBudgetFailsTheTest() {
+        WiringBudgets.Report report = new WiringBudgets.Report(directory, "SomeTest", new WiringBudgets.Budget(50, -1), true);
+
+        report.check("fast()", 10_000_000, 4096);
+
+        assertThatThrownBy(() -> report.check("slow()", 60_000_000, 4096))
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Wiring slow() of SomeTest took 60.000 ms and allocated 4096 bytes, exceeding its budget of 50 ms and -1 bytes");
+    }
+
+    @Test
+    void exceedingTheBudgetCanOnlyWarn() {
+        WiringBudgets.Report report = new WiringBudgets.Report(directory, "SomeTest", new WiringBudgets.Budget(-1, 1024), false);
+
+        assertThat(report.check("fast()", 1_000_000, 512)).isEmpty();
+        assertThat(report.check("allocating()", 1_000_000, 2048))
+            .hasValue("Wiring allocating() of SomeTest took 1.000 ms and allocated 2048 bytes, exceeding its budget of -1 ms and 1024 bytes");
+    }
+
+    @Test
+    void resultsAreWrittenAsJson() throws IOException {
+        WiringBudgets.Report report = new WiringBudgets.Report(directory, "SomeTest", new WiringBudgets.Budget(50, -1), false);
+        report.check("fast()", 1_500_000, 100);
+        report.check("slow()", 60_000_000, 200);
+
+        report.close();
+
+        assertThat(Files.readString(directory.resolve("SomeTest.json"))).isEqualToNormalizingNewlines("""
+            {
+              "testClass": "SomeTest",
+              "maxMillis": 50,
+              "maxAllocatedBytes": -1,
+              "tests": [
+                {"test": "fast()", "millis": 1.500, "allocatedBytes": 100, "exceeded": false},
+                {"test": "slow()", "millis": 60.000, "allocatedBytes": 200, "exceeded": true}
+              ]
+            }
+            """);
+    }
+
+    private static Configuration configuration(Map<String, String> parameters) {
+        return new Configuration(key -> Optional.ofNullable(parameters.get(key)));
+    }
+}
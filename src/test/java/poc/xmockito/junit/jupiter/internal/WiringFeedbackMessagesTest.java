@@ -1,8 +1,10 @@
 package poc.xmockito.junit.jupiter.internal;
 
 import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.Fake;
 import poc.xmockito.junit.jupiter.FieldAccessor;
 import poc.xmockito.junit.jupiter.Instance;
+import poc.xmockito.junit.jupiter.Wired;
 import poc.xmockito.junit.jupiter.internal.InstanceCreationFailed;
 import poc.xmockito.junit.jupiter.internal.InstantiationResult;
 import poc.xmockito.junit.jupiter.internal.WiringEngine;
@@ -12,6 +14,7 @@ import java.util.Arrays;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class WiringFeedbackMessagesTest extends FieldAccessor {
 
@@ -27,6 +30,18 @@ public class WiringFeedbackMessagesTest extends FieldAccessor {
     @Instance(parameterTypes = {Void.class})
     private MultiplePublicConstructorInstance noneAreMatching;
 
+    @Instance(factory = "missing")
+    private SinglePublicConstructorInstance noFactory;
+
+    @Instance(injection = Instance.Injection.ANNOTATED)
+    private WiredMembersInstance unwiredMembers;
+
+    @Instance(injection = Instance.Injection.ALL)
+    private UnsetFieldInstance unsetField;
+
+    @Fake(SinglePublicConstructorInstance.class)
+    private Runnable notAssignable;
+
     final WiringEngine context = new WiringEngine();
 
     @Test
@@ -81,14 +96,73 @@ public class WiringFeedbackMessagesTest extends FieldAccessor {
             .isEqualTo(lines(
                 "Field[MultiplePublicConstructorInstance noneAreMatching] -> No matching constructor found",
                 "\tavailable candidates are:",
-                "\t\tMultiplePublicConstructorInstance(Integer arg0)",
-                "\t\tMultiplePublicConstructorInstance(String arg0)"
+                "\t\tMultiplePublicConstructorInstance(Integer value)",
+                "\t\tMultiplePublicConstructorInstance(String value)"
             ));
     }
 
+    @Test
+    void feedbackMessage_noFactoryMethodFoundForClass() {
+        Field subjectField = declaredField("noFactory");
+
+        InstantiationResult result = context.instantiate(subjectField);
+        assertThat(result).isInstanceOf(InstanceCreationFailed.class);
+        assertThat(((InstanceCreationFailed) result).message())
+            .isEqualTo("Field[SinglePublicConstructorInstance noFactory] -> No public static factory method missing found");
+    }
+
+    @Test
+    void feedbackMessage_noInjectionCandidateFoundForWiredMembers() {
+        Field subjectField = declaredField("unwiredMembers");
+
+        InstantiationResult result = context.instantiate(subjectField);
+        assertThat(result).isInstanceOf(InstanceCreationFailed.class);
+        assertThat(((InstanceCreationFailed) result).message())
+            .isEqualTo(lines(
+                "Field[WiredMembersInstance unwiredMembers] -> new WiredMembersInstance()",
+                "\tNo injection candidate for Field[String value]",
+                "\tNo injection candidate for WiredMembersInstance.wire(Integer number)"
+            ));
+    }
+
+    @Test
+    void fieldsWithoutCandidateAreLeftUnset() {
+        Field subjectField = declaredField("unsetField");
+
+        InstantiationResult result = context.instantiate(subjectField);
+        assertThat(result).isInstanceOf(InstanceCreated.class);
+        assertThat(((UnsetFieldInstance) ((InstanceCreated) result).instance()).value).isNull();
+    }
+
+    @Test
+    void feedbackMessage_fakeNotAssignableToField() {
+        Field subjectField = declaredField("notAssignable");
+
+        assertThatThrownBy(() -> context.instantiate(subjectField))
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Fake SinglePublicConstructorInstance is not assignable to Field[Runnable notAssignable]");
+    }
+
     public record SinglePublicConstructorInstance(String value) {
     }
 
+    public static class WiredMembersInstance {
+        @Wired
+        private String value;
+
+        @Wired
+        void wire(Integer number) {
+        }
+    }
+
+    public static class UnsetFieldInstance {
+        private String value;
+        private String initialized = "initialized";
+
+        public void setNumber(Integer number) {
+        }
+    }
+
     private static class SinglePrivateConstructorInstance {
         private SinglePrivateConstructorInstance(String value) {
         }
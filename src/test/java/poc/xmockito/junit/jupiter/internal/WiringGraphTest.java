@@ -0,0 +1,73 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WiringGraphTest extends FieldAccessor {
+
+    public record A(B b, String value) {
+    }
+
+    public record B(Runnable task) {
+    }
+
+    private String someValue = "some";
+    private Runnable task;
+    private A a;
+    private B b;
+
+    final WiringEngine context = new WiringEngine();
+
+    @Test
+    void graphIsExportedAsDotAndJson(@TempDir Path directory) throws IOException {
+        context.register(declaredField("someValue"), someValue);
+        context.registerMock(declaredField("task"), (Runnable) () -> {});
+        context.wireInstances(List.of(declaredField("a"), declaredField("b")));
+
+        context.exportGraph(directory, "SomeTest", Duration.ofHours(1));
+
+        assertThat(Files.readString(directory.resolve("SomeTest.dot")))
+            .contains("digraph \"SomeTest\" {")
+            .contains("\"String someValue\" [label=\"String someValue\\nPREDEFINED\", shape=ellipse];")
+            .contains("\"Runnable task\" [label=\"Runnable task\\nMOCK\", shape=ellipse];")
+            .contains("\"A a\" -> \"B b\" [label=\"b: UNIQUE_BY_TYPE_AND_NAME\"];")
+            .contains("\"A a\" -> \"String someValue\" [label=\"value: UNIQUE_BY_TYPE\"];")
+            .contains("\"B b\" -> \"Runnable task\" [label=\"task: UNIQUE_BY_TYPE_AND_NAME\"];");
+        assertThat(Files.readString(directory.resolve("SomeTest.json")))
+            .startsWith("{\"testClass\": \"SomeTest\", \"slowConstructorThresholdMillis\": 3600000, \"nodes\": [")
+            .contains("{\"type\": \"java.lang.String\", \"name\": \"someValue\", \"kind\": \"PREDEFINED\"}")
+            .contains("\"name\": \"a\", \"kind\": \"INSTANCE\", \"constructor\": \"A(B b, String value)\"")
+            .contains("\"slow\": false")
+            .contains("{\"parameter\": \"value\", \"type\": \"java.lang.String\", \"name\": \"someValue\", \"resolution\": \"UNIQUE_BY_TYPE\"}");
+    }
+
+    @Test
+    void backslashesAndQuotesAreEscaped() {
+        WiringGraph graph = new WiringGraph();
+        graph.add(declaredField("someValue"), WiringGraph.NodeKind.PREDEFINED);
+
+        assertThat(graph.toDot("C:\\tests\\\"Some\"", Duration.ofHours(1)))
+            .contains("digraph \"C:\\\\tests\\\\\\\"Some\\\"\" {")
+            .contains("[label=\"String someValue\\nPREDEFINED\", shape=ellipse];");
+    }
+
+    @Test
+    void constructorsOverTheThresholdAreFlagged(@TempDir Path directory) throws IOException {
+        context.registerMock(declaredField("task"), (Runnable) () -> {});
+        context.wireInstances(List.of(declaredField("b")));
+
+        context.exportGraph(directory, "SomeTest", Duration.ofNanos(-1));
+
+        assertThat(Files.readString(directory.resolve("SomeTest.dot"))).contains("color=red");
+        assertThat(Files.readString(directory.resolve("SomeTest.json"))).contains("\"slow\": true");
+    }
+}
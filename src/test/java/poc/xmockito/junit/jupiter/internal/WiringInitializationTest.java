@@ -0,0 +1,153 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Instance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WiringInitializationTest extends FieldAccessor {
+    static final List<String> INITIALIZED = new CopyOnWriteArrayList<>();
+    static final CountDownLatch BOTH_INITIALIZING = new CountDownLatch(2);
+    static final CountDownLatch RELEASED = new CountDownLatch(1);
+
+    public record Cache() {
+        public void warmUp() throws InterruptedException {
+            BOTH_INITIALIZING.countDown();
+            INITIALIZED.add(BOTH_INITIALIZING.await(5, TimeUnit.SECONDS) ? "cache" : "cache alone");
+        }
+    }
+
+    public record Schema() {
+        public CompletionStage<String> load() {
+            return CompletableFuture.supplyAsync(() -> {
+                BOTH_INITIALIZING.countDown();
+                try {
+                    INITIALIZED.add(BOTH_INITIALIZING.await(5, TimeUnit.SECONDS) ? "schema" : "schema alone");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "loaded";
+            });
+        }
+    }
+
+    public record Service(Cache cache, Schema schema) {
+        public void start() {
+            INITIALIZED.add("service");
+        }
+    }
+
+    public record Broken() {
+        public void start() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    public record DependsOnBroken(Broken broken) {
+        public void start() {
+            INITIALIZED.add("depends on broken");
+        }
+    }
+
+    public record Unknown() {
+    }
+
+    public record Named() {
+        public void start() {
+            INITIALIZED.add(Thread.currentThread().getName());
+        }
+    }
+
+    public record Stuck() {
+        public void start() throws InterruptedException {
+            RELEASED.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Instance(initializer = "warmUp")
+    private Cache cache;
+    @Instance(initializer = "load")
+    private Schema schema;
+    @Instance(initializer = "start")
+    private Service service;
+    @Instance(initializer = "start")
+    private Broken broken;
+    @Instance(initializer = "start")
+    private DependsOnBroken dependsOnBroken;
+    @Instance(initializer = "start")
+    private Unknown unknown;
+    @Instance(initializer = "start")
+    private Named named;
+    @Instance(initializer = "start")
+    private Stuck stuck;
+
+    final WiringEngine context = new WiringEngine();
+
+    @Test
+    void independentInitializersOverlapAndDependentsWaitForThem() {
+        INITIALIZED.clear();
+        context.wireInstances(List.of(declaredField("cache"), declaredField("schema"), declaredField("service")));
+
+        context.awaitInitialization();
+
+        assertThat(INITIALIZED).hasSize(3);
+        assertThat(INITIALIZED.subList(0, 2)).containsExactlyInAnyOrder("cache", "schema");
+        assertThat(INITIALIZED.get(2)).isEqualTo("service");
+    }
+
+    @Test
+    void failuresAreReportedOnceWithoutInitializingDependents() {
+        INITIALIZED.clear();
+        context.wireInstances(List.of(declaredField("broken"), declaredField("dependsOnBroken")));
+
+        assertThatThrownBy(context::awaitInitialization)
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Unable to initialize 1 wired instance(s)")
+            .satisfies(e -> assertThat(e.getSuppressed()).singleElement()
+                .satisfies(suppressed -> assertThat(suppressed).hasMessage("Unable to initialize Broken broken").hasRootCauseMessage("broken")));
+        assertThat(INITIALIZED).isEmpty();
+    }
+
+    @Test
+    void unknownInitializersAreReported() {
+        assertThatThrownBy(() -> context.wireInstances(List.of(declaredField("unknown"))))
+            .isInstanceOf(WiringException.class)
+            .hasMessage("No initializer start() for Field[Unknown unknown]");
+    }
+
+    @Test
+    void initializersRunOnTheirOwnThreads() {
+        INITIALIZED.clear();
+        context.wireInstances(List.of(declaredField("named")));
+
+        context.awaitInitialization();
+
+        assertThat(INITIALIZED).singleElement().asString().startsWith("xmockito-initializer-");
+    }
+
+    @Test
+    void initializationIsBoundByTheConstructionTimeout() {
+        WiringEngine timed = new WiringEngine(new Snapshots(), new SessionInstances(), Duration.ofMillis(50));
+        timed.wireInstances(List.of(declaredField("stuck")));
+
+        try {
+            assertThatThrownBy(timed::awaitInitialization)
+                .isInstanceOf(WiringException.class)
+                .hasMessage("Unable to initialize 1 wired instance(s)")
+                .satisfies(e -> assertThat(e.getSuppressed()).singleElement()
+                    .satisfies(suppressed -> assertThat(suppressed).hasMessage("Initialization of Stuck stuck did not complete within 50 ms")));
+        } finally {
+            RELEASED.countDown();
+        }
+    }
+}
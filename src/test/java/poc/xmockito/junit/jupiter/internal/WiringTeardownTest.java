@@ -0,0 +1,135 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.FieldAccessor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WiringTeardownTest extends FieldAccessor {
+    static final List<String> CLOSED = new CopyOnWriteArrayList<>();
+    static final CountDownLatch BOTH_CLOSING = new CountDownLatch(2);
+
+    public record Root(Middle middle, Other other) implements AutoCloseable {
+        @Override
+        public void close() {
+            CLOSED.add("root");
+        }
+    }
+
+    public record Middle(Leaf leaf) implements AutoCloseable {
+        @Override
+        public void close() throws InterruptedException {
+            BOTH_CLOSING.countDown();
+            CLOSED.add(BOTH_CLOSING.await(5, TimeUnit.SECONDS) ? "middle" : "middle alone");
+        }
+    }
+
+    public record Other(Leaf leaf) implements AutoCloseable {
+        @Override
+        public void close() throws InterruptedException {
+            BOTH_CLOSING.countDown();
+            CLOSED.add(BOTH_CLOSING.await(5, TimeUnit.SECONDS) ? "other" : "other alone");
+        }
+    }
+
+    public record Leaf() implements AutoCloseable {
+        @Override
+        public void close() {
+            CLOSED.add("leaf");
+        }
+    }
+
+    public record Failing(Leaf leaf) implements AutoCloseable {
+        @Override
+        public void close() {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+    public record AlsoFailing() implements AutoCloseable {
+        @Override
+        public void close() {
+            throw new IllegalStateException("also failing");
+        }
+    }
+
+    public record Named(String name) implements AutoCloseable {
+        @Override
+        public void close() {
+            CLOSED.add(name);
+        }
+    }
+
+    private Root root;
+    private Middle middle;
+    private Other other;
+    private Leaf leaf;
+    private Failing failing;
+    private AlsoFailing alsoFailing;
+    private String name;
+    private Named named;
+
+    final WiringEngine context = new WiringEngine();
+
+    @Test
+    void instancesAreClosedInReverseDependencyOrderAndIndependentOnesConcurrently() {
+        CLOSED.clear();
+        context.wireInstances(List.of(declaredField("leaf"), declaredField("middle"), declaredField("other"), declaredField("root")));
+
+        context.closeInstances();
+
+        assertThat(CLOSED).hasSize(4);
+        assertThat(CLOSED.get(0)).isEqualTo("root");
+        assertThat(CLOSED.subList(1, 3)).containsExactlyInAnyOrder("middle", "other");
+        assertThat(CLOSED.get(3)).isEqualTo("leaf");
+    }
+
+    @Test
+    void closingFailuresAreAggregated() {
+        CLOSED.clear();
+        context.wireInstances(List.of(declaredField("leaf"), declaredField("failing"), declaredField("alsoFailing")));
+
+        assertThatThrownBy(context::closeInstances)
+            .isInstanceOf(WiringException.class)
+            .hasMessage("Unable to close 2 wired instance(s)")
+            .satisfies(exception -> assertThat(exception.getSuppressed())
+                .extracting(Throwable::getMessage)
+                .containsExactlyInAnyOrder("Unable to close Failing failing", "Unable to close AlsoFailing alsoFailing"));
+        assertThat(CLOSED).containsExactly("leaf");
+    }
+
+    @Test
+    void replacedInstancesAreClosedAndTheirReplacementsLeftToTheCaller() {
+        CLOSED.clear();
+        context.register(declaredField("name"), "original");
+        context.wireInstances(List.of(declaredField("named")));
+
+        context.replace(WiringGraph.Key.of(declaredField("named")), new Named("replacement"));
+        context.replace(WiringGraph.Key.of(declaredField("named")), new Named("second replacement"));
+        context.closeInstances();
+
+        assertThat(CLOSED).containsExactly("original");
+    }
+
+    @Test
+    void dependentsRegisteredBeforeTheirDependenciesAreClosedFirst() {
+        CLOSED.clear();
+        Leaf registeredLater = new Leaf();
+        WiringGraph.Edge toLeaf = new WiringGraph.Edge("leaf", WiringGraph.Key.of(declaredField("leaf")), WiringContext.ParameterDefinition.UNIQUE_BY_TYPE_AND_NAME);
+        context.register(declaredField("middle"), new InstanceCreated(new Middle(registeredLater), "new Middle(Leaf leaf)", List.of(toLeaf), 0));
+        context.register(declaredField("other"), new InstanceCreated(new Other(registeredLater), "new Other(Leaf leaf)", List.of(toLeaf), 0));
+        context.register(declaredField("leaf"), new InstanceCreated(registeredLater, "new Leaf()", List.of(), 0));
+
+        context.closeInstances();
+
+        assertThat(CLOSED).hasSize(3);
+        assertThat(CLOSED.subList(0, 2)).containsExactlyInAnyOrder("middle", "other");
+        assertThat(CLOSED.get(2)).isEqualTo("leaf");
+    }
+}
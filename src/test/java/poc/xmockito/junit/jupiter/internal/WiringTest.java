@@ -3,11 +3,13 @@ package poc.xmockito.junit.jupiter.internal;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import poc.xmockito.junit.jupiter.FieldAccessor;
+import poc.xmockito.junit.jupiter.Instance;
 import poc.xmockito.junit.jupiter.internal.WiringEngine;
 import poc.xmockito.junit.jupiter.internal.WiringException;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -40,6 +42,65 @@ public class WiringTest {
         }
     }
 
+    @Nested
+    class ReferencedParameterTypesAreCollected extends FieldAccessor {
+
+        public record A(B b, String name) {
+        }
+
+        public record B() {
+        }
+
+        private A a;
+        private B b;
+
+        final WiringEngine context = new WiringEngine();
+
+        @Test
+        public void onlyConstructorParameterTypesAreReferenced() {
+            Field a = declaredField("a");
+            Field b = declaredField("b");
+
+            assertThat(context.referencedParameterTypes(List.of(a, b))).containsExactlyInAnyOrder(B.class, String.class);
+        }
+    }
+
+    @Nested
+    class MembersAreResolvedBeforeConstruction extends FieldAccessor {
+
+        public static class Client {
+            static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+            private Server server;
+            private Runnable unknown;
+
+            public Client() {
+                CONSTRUCTED.incrementAndGet();
+            }
+        }
+
+        public record Server() {
+        }
+
+        @Instance(injection = Instance.Injection.ALL)
+        private Client client;
+        private Server server;
+
+        final WiringEngine context = new WiringEngine();
+
+        @Test
+        public void instancesWaitingForAMemberAreConstructedOnce() {
+            Client.CONSTRUCTED.set(0);
+
+            context.wireInstances(List.of(declaredField("client"), declaredField("server")));
+
+            Client wired = (Client) context.lookup(Client.class, "client");
+            assertThat(Client.CONSTRUCTED).hasValue(1);
+            assertThat(wired.server).isSameAs(context.lookup(Server.class, "server"));
+            assertThat(wired.unknown).isNull();
+        }
+    }
+
     @Nested
     class CircularReferencesAreDetected extends FieldAccessor {
 
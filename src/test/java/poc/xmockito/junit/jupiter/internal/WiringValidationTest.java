@@ -0,0 +1,97 @@
+package poc.xmockito.junit.jupiter.internal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import poc.xmockito.junit.jupiter.Dependency;
+import poc.xmockito.junit.jupiter.Instance;
+import poc.xmockito.junit.jupiter.Mock;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WiringValidationTest {
+
+    @Test
+    void validWiringPassesWithoutCallingConstructors() {
+        assertThatCode(() -> WiringValidation.validate(ValidFixture.class)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void invalidWiringIsReportedWithTheWiringFeedbackMessages() {
+        assertThatThrownBy(() -> WiringValidation.validate(InvalidFixture.class))
+            .isInstanceOf(WiringException.class)
+            .hasMessage(lines(
+                InvalidFixture.class.getName(),
+                "Field[Subject subject] -> new Subject(String value, Dependency dependency)",
+                "\tNo unique candidate for Parameter[String value]",
+                "\t\tavailable candidates are [some, other]"
+            ));
+    }
+
+    @Test
+    void nestedClassesAreValidatedWithTheirEnclosingFields() {
+        assertThatThrownBy(() -> WiringValidation.validate(NestedFixture.class))
+            .isInstanceOf(WiringException.class)
+            .hasMessage(lines(
+                NestedFixture.Invalid.class.getName(),
+                "Field[Other other] -> new Other(Subject subject)",
+                "\tNo injection candidate for Parameter[Subject subject]"
+            ));
+    }
+
+    static class ValidFixture {
+        private String value;
+
+        @Mock
+        private Dependency dependency;
+
+        @Instance
+        private Subject subject;
+    }
+
+    static class InvalidFixture {
+        private String some;
+        private String other;
+
+        @Mock
+        private Dependency dependency;
+
+        @Instance
+        private Subject subject;
+    }
+
+    static class NestedFixture {
+        private String value;
+
+        @Mock
+        private Dependency dependency;
+
+        @Nested
+        class Valid {
+            @Instance
+            private Subject subject;
+        }
+
+        @Nested
+        class Invalid {
+            @Instance
+            private Other other;
+        }
+    }
+
+    public record Subject(String value, Dependency dependency) {
+        public Subject {
+            throw new AssertionError("constructors are not called during validation");
+        }
+    }
+
+    public record Other(Subject subject) {
+    }
+
+    private static String lines(String... lines) {
+        return Arrays.stream(lines).collect(Collectors.joining(System.lineSeparator()));
+    }
+}